@@ -0,0 +1,74 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a board from a file of running matches, with the bulk loader and by reading the file line by line
+ * and starting and updating each match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BulkLoadBenchmark {
+
+    @Param({"100000", "500000"})
+    int matches;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("matches", ".csv");
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < matches; i++) {
+                writer.write("Home team " + i + ",Away team " + i + "," + i % 7 + "," + i % 5 + "\n");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public LiveScoreboard bulkLoad() throws IOException {
+        return ScoreboardBulkLoader.load(file).scoreboard();
+    }
+
+    @Benchmark
+    public LiveScoreboard startAndUpdate() throws IOException {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                scoreboard.start(fields[0], fields[1]);
+                scoreboard.update(fields[0], fields[1], Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+            }
+        }
+        return scoreboard;
+    }
+
+}
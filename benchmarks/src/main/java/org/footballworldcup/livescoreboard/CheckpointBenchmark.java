@@ -0,0 +1,64 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a checkpoint of a board holding a given number of running matches, and restoring a board from it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CheckpointBenchmark {
+
+    @Param({"10000", "1000000"})
+    int runningMatches;
+
+    private LiveScoreboard scoreboard;
+    private Path checkpointFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        scoreboard = new LiveScoreboard();
+        for (int i = 0; i < runningMatches; i++) {
+            scoreboard.start("Home team " + i, "Away team " + i);
+            scoreboard.update("Home team " + i, "Away team " + i, i % 7, i % 5);
+        }
+        checkpointFile = Files.createTempFile("scoreboard", ".checkpoint");
+        scoreboard.checkpoint(checkpointFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(checkpointFile);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        scoreboard.checkpoint(checkpointFile);
+    }
+
+    @Benchmark
+    public LiveScoreboard restore() throws IOException {
+        return LiveScoreboard.restore(checkpointFile);
+    }
+
+}
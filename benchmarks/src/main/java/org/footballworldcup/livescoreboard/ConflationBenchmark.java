@@ -0,0 +1,73 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a burst of updates of one match followed by a read of the board, with and without conflating updates.
+ * Every update scores one more goal, so without conflation each of them moves the match in the summary order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class ConflationBenchmark {
+
+    @Param({"100000"})
+    int runningMatches;
+
+    @Param({"1", "10"})
+    int burstSize;
+
+    @Param({"false", "true"})
+    boolean conflated;
+
+    private LiveScoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] homeTeamScores;
+    private int nextMatch;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new LiveScoreboard();
+        if (conflated) scoreboard.conflateUpdates(Duration.ofSeconds(1), Clock.systemUTC());
+        homeTeams = new String[runningMatches];
+        awayTeams = new String[runningMatches];
+        homeTeamScores = new int[runningMatches];
+        for (int i = 0; i < runningMatches; i++) {
+            homeTeams[i] = "Home team " + i;
+            awayTeams[i] = "Away team " + i;
+            homeTeamScores[i] = i % 7;
+            scoreboard.start(homeTeams[i], awayTeams[i]);
+            scoreboard.update(homeTeams[i], awayTeams[i], homeTeamScores[i], 0);
+        }
+    }
+
+    @Benchmark
+    public long burstThenRead() {
+        int match = nextMatch;
+        nextMatch = (nextMatch + 1) % runningMatches;
+        for (int i = 0; i < burstSize; i++) {
+            homeTeamScores[match] += 1;
+            scoreboard.update(homeTeams[match], awayTeams[match], homeTeamScores[match], 0);
+        }
+        return scoreboard.getVersion();
+    }
+
+}
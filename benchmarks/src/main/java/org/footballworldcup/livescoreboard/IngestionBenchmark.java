@@ -0,0 +1,106 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares feeding updates from many virtual threads through a {@link ScoreboardIngestionPipeline}
+ * with applying them to a {@link LiveScoreboard} under a lock. The pipeline rebuilds the summary once per drained
+ * batch. The locked board is run twice: rebuilding the summary after every update, so readers see every update
+ * as soon as the pipeline's readers do, and without rebuilding it, which measures the lock alone.
+ * Not a JMH benchmark, as it needs its own virtual threads: run it with
+ * {@code java -cp benchmarks/target/benchmarks.jar org.footballworldcup.livescoreboard.IngestionBenchmark}.
+ */
+public class IngestionBenchmark {
+
+    private static final int PRODUCERS = 64;
+    private static final int UPDATES_PER_PRODUCER = 20_000;
+    private static final int IDLE_MATCHES = 1_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            report("locked, summary per update", runLocked(true));
+            report("locked, no summary        ", runLocked(false));
+            report("pipeline                  ", runPipeline());
+        }
+    }
+
+    private static Result runLocked(boolean rebuildSummary) throws Exception {
+        LiveScoreboard scoreboard = newScoreboard();
+        LatencyHistogram latency = new LatencyHistogram();
+        long start = System.nanoTime();
+        runProducers(producer -> {
+            for (int goal = 1; goal <= UPDATES_PER_PRODUCER; goal++) {
+                long submitted = System.nanoTime();
+                synchronized (scoreboard) {
+                    scoreboard.update("Home " + producer, "Away " + producer, goal, 0);
+                    if (rebuildSummary) scoreboard.getSnapshot();
+                }
+                latency.record(System.nanoTime() - submitted);
+            }
+        });
+        return new Result(System.nanoTime() - start, latency);
+    }
+
+    private static Result runPipeline() throws Exception {
+        ScoreboardIngestionPipeline pipeline = new ScoreboardIngestionPipeline(newScoreboard(), 4096);
+        LatencyHistogram latency = new LatencyHistogram();
+        long start = System.nanoTime();
+        runProducers(producer -> {
+            CompletableFuture<CommandResult> last = null;
+            for (int goal = 1; goal <= UPDATES_PER_PRODUCER; goal++) {
+                long submitted = System.nanoTime();
+                last = pipeline.submit(new ScoreCommand.Update("Home " + producer, "Away " + producer, goal, 0))
+                        .whenComplete((result, error) -> latency.record(System.nanoTime() - submitted));
+            }
+            last.join();
+        });
+        long elapsed = System.nanoTime() - start;
+        pipeline.close();
+        return new Result(elapsed, latency);
+    }
+
+    private static LiveScoreboard newScoreboard() {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        for (int i = 0; i < IDLE_MATCHES; i++) {
+            scoreboard.start("Idle home " + i, "Idle away " + i);
+        }
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            scoreboard.start("Home " + producer, "Away " + producer);
+        }
+        return scoreboard;
+    }
+
+    private static void runProducers(Producer producer) throws Exception {
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < PRODUCERS; i++) {
+                int producerNo = i;
+                results.add(executor.submit(() -> producer.run(producerNo)));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    private static void report(String name, Result result) {
+        long updates = (long) PRODUCERS * UPDATES_PER_PRODUCER;
+        System.out.printf("%s %,10.0f updates/s, latency p50 %,d ns, p99 %,d ns, p99.9 %,d ns%n", name,
+                updates * 1e9 / result.elapsedNanos(), result.latency().getPercentile(50),
+                result.latency().getPercentile(99), result.latency().getPercentile(99.9));
+    }
+
+    private interface Producer {
+        void run(int producer);
+    }
+
+    private record Result(long elapsedNanos, LatencyHistogram latency) {
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of measuring operations, the same updates and reads on a bare and on an instrumented board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class InstrumentedScoreboardBenchmark {
+
+    @Param({"false", "true"})
+    boolean instrumented;
+
+    @Param({"1000"})
+    int runningMatches;
+
+    private Scoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] homeTeamScores;
+    private int nextMatch;
+
+    @Setup
+    public void setUp() {
+        scoreboard = instrumented ? new InstrumentedScoreboard(new LiveScoreboard()) : new LiveScoreboard();
+        homeTeams = new String[runningMatches];
+        awayTeams = new String[runningMatches];
+        homeTeamScores = new int[runningMatches];
+        for (int i = 0; i < runningMatches; i++) {
+            homeTeams[i] = "Home team " + i;
+            awayTeams[i] = "Away team " + i;
+            scoreboard.start(homeTeams[i], awayTeams[i]);
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        int match = nextMatch;
+        nextMatch = match + 1 == runningMatches ? 0 : match + 1;
+        homeTeamScores[match] += 1;
+        scoreboard.update(homeTeams[match], awayTeams[match], homeTeamScores[match], 0);
+    }
+
+    @Benchmark
+    public List<SummarizedMatch> getSummaryTop10() {
+        return scoreboard.getSummary(10);
+    }
+
+}
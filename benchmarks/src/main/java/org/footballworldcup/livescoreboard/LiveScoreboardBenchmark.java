@@ -0,0 +1,111 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of the single operations of a {@link LiveScoreboard} holding a given number of running matches.
+ * Every update scores one more goal, so it always moves its match in the summary order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class LiveScoreboardBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int runningMatches;
+
+    private LiveScoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private TeamId[] homeTeamIds;
+    private TeamId[] awayTeamIds;
+    private int[] homeTeamScores;
+    private int[] awayTeamScores;
+    private int nextMatch;
+    private long visitedGoals;
+    private final SummaryVisitor goalCounter = (rank, homeTeam, awayTeam, homeTeamScore, awayTeamScore) ->
+            visitedGoals += homeTeamScore + awayTeamScore;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new LiveScoreboard();
+        homeTeams = new String[runningMatches];
+        awayTeams = new String[runningMatches];
+        homeTeamIds = new TeamId[runningMatches];
+        awayTeamIds = new TeamId[runningMatches];
+        homeTeamScores = new int[runningMatches];
+        awayTeamScores = new int[runningMatches];
+        for (int i = 0; i < runningMatches; i++) {
+            homeTeams[i] = "Home team " + i;
+            awayTeams[i] = "Away team " + i;
+            homeTeamIds[i] = scoreboard.team(homeTeams[i]);
+            awayTeamIds[i] = scoreboard.team(awayTeams[i]);
+            homeTeamScores[i] = i % 7;
+            awayTeamScores[i] = i % 5;
+            scoreboard.start(homeTeams[i], awayTeams[i]);
+            scoreboard.update(homeTeams[i], awayTeams[i], homeTeamScores[i], awayTeamScores[i]);
+        }
+    }
+
+    @Benchmark
+    public void startAndFinish() {
+        scoreboard.start("Extra home team", "Extra away team");
+        scoreboard.finish("Extra home team", "Extra away team");
+    }
+
+    @Benchmark
+    public void update() {
+        int match = nextMatch();
+        homeTeamScores[match] += 1;
+        scoreboard.update(homeTeams[match], awayTeams[match], homeTeamScores[match], awayTeamScores[match]);
+    }
+
+    @Benchmark
+    public void updateByTeamIds() {
+        int match = nextMatch();
+        homeTeamScores[match] += 1;
+        scoreboard.update(homeTeamIds[match], awayTeamIds[match], homeTeamScores[match], awayTeamScores[match]);
+    }
+
+    @Benchmark
+    public List<SummarizedMatch> getSummaryTop10() {
+        return scoreboard.getSummary(10);
+    }
+
+    @Benchmark
+    public long forEachInOrder() {
+        visitedGoals = 0;
+        scoreboard.forEachInOrder(goalCounter);
+        return visitedGoals;
+    }
+
+    // the summary is cached until the next change, so a change comes first to measure building it
+    @Benchmark
+    public List<SummarizedMatch> updateAndGetSummary() {
+        update();
+        return scoreboard.getSummary();
+    }
+
+    private int nextMatch() {
+        int match = nextMatch;
+        nextMatch = match + 1 == runningMatches ? 0 : match + 1;
+        return match;
+    }
+
+}
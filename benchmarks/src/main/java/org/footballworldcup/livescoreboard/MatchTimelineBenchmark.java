@@ -0,0 +1,88 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an update with and without recording timelines. After the run, prints the bytes the timelines take
+ * per match, bounded by {@link MatchTimeline#DEFAULT_MAX_BYTES} however many updates were recorded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchTimelineBenchmark {
+
+    private static final int MATCHES = 100;
+
+    @Param({"false", "true"})
+    private boolean timelines;
+
+    private LiveScoreboard scoreboard;
+    private TeamId[] homeTeams;
+    private TeamId[] awayTeams;
+    private int[] homeTeamScores;
+    private int[] awayTeamScores;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new LiveScoreboard();
+        if (timelines) scoreboard.recordTimelines(Clock.systemUTC());
+        homeTeams = new TeamId[MATCHES];
+        awayTeams = new TeamId[MATCHES];
+        homeTeamScores = new int[MATCHES];
+        awayTeamScores = new int[MATCHES];
+        for (int i = 0; i < MATCHES; i++) {
+            homeTeams[i] = scoreboard.team("Home team " + i);
+            awayTeams[i] = scoreboard.team("Away team " + i);
+            scoreboard.start(homeTeams[i], awayTeams[i]);
+        }
+    }
+
+    // every update is a goal of one side, as most updates of a real match are
+    @Benchmark
+    public void update() {
+        int match = next;
+        next = (next + 1) % MATCHES;
+        if ((homeTeamScores[match] + awayTeamScores[match]) % 3 == 0) {
+            homeTeamScores[match] += 1;
+        } else {
+            awayTeamScores[match] += 1;
+        }
+        scoreboard.update(homeTeams[match], awayTeams[match], homeTeamScores[match], awayTeamScores[match]);
+    }
+
+    @TearDown(Level.Trial)
+    public void printTimelineSizes() {
+        if (!timelines) return;
+        long storedBytes = 0;
+        long changes = 0;
+        long droppedChanges = 0;
+        for (int i = 0; i < MATCHES; i++) {
+            MatchTimeline timeline = scoreboard.getTimeline(homeTeams[i].name(), awayTeams[i].name());
+            storedBytes += timeline.getStoredBytes();
+            changes += timeline.getChangeCount();
+            droppedChanges += timeline.getDroppedChanges();
+        }
+        System.out.printf("%ntimeline per match: %d bytes, %d changes kept, %d dropped, %.2f bytes per change%n",
+                storedBytes / MATCHES, changes / MATCHES, droppedChanges / MATCHES, (double) storedBytes / changes);
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of putting matches in summary order from scratch, by sorting a list and by filling an ordered set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class MatchesComparatorBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int runningMatches;
+
+    private final MatchesComparator comparator = new MatchesComparator();
+    private List<Match> shuffledMatches;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        shuffledMatches = new ArrayList<>(runningMatches);
+        for (int i = 0; i < runningMatches; i++) {
+            shuffledMatches.add(new Match("Home team " + i, "Away team " + i, random.nextInt(7), random.nextInt(5), i));
+        }
+        Collections.shuffle(shuffledMatches, random);
+    }
+
+    @Benchmark
+    public List<Match> sortList() {
+        List<Match> matches = new ArrayList<>(shuffledMatches);
+        matches.sort(comparator);
+        return matches;
+    }
+
+    @Benchmark
+    public TreeSet<Match> fillTreeSet() {
+        TreeSet<Match> matches = new TreeSet<>(comparator);
+        matches.addAll(shuffledMatches);
+        return matches;
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of rejecting a stale score and a finish of an already finished match, by exception and by outcome,
+ * and of dropping a repeated sequenced update.
+ * Run with {@code -jvmArgsAppend -Dorg.footballworldcup.livescoreboard.stackTraces=true} to compare
+ * with exceptions capturing their stack traces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RejectedInputBenchmark {
+
+    private LiveScoreboard scoreboard;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new LiveScoreboard();
+        scoreboard.start("Home team", "Away team");
+        scoreboard.tryUpdate("Home team", "Away team", 2, 1, 1);
+    }
+
+    @Benchmark
+    public Object lowerScoreException() {
+        try {
+            scoreboard.update("Home team", "Away team", 1, 1);
+            return null;
+        } catch (IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public ScoreOutcome lowerScoreOutcome() {
+        return scoreboard.tryUpdate("Home team", "Away team", 1, 1);
+    }
+
+    @Benchmark
+    public ScoreOutcome duplicateSequenceOutcome() {
+        return scoreboard.tryUpdate("Home team", "Away team", 2, 1, 1);
+    }
+
+    @Benchmark
+    public Object matchNotFoundException() {
+        try {
+            scoreboard.finish("Finished home team", "Finished away team");
+            return null;
+        } catch (IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public ScoreOutcome matchNotFoundOutcome() {
+        return scoreboard.tryFinish("Finished home team", "Finished away team");
+    }
+
+}
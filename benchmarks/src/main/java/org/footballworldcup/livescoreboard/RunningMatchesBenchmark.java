@@ -0,0 +1,82 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of the match index alone, without versions, snapshots and events of the board around it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class RunningMatchesBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int runningMatches;
+
+    private RunningMatches matches;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] homeTeamScores;
+    private int nextMatch;
+    private int nextMatchNo;
+
+    @Setup
+    public void setUp() {
+        matches = new RunningMatches();
+        homeTeams = new String[runningMatches];
+        awayTeams = new String[runningMatches];
+        homeTeamScores = new int[runningMatches];
+        for (int i = 0; i < runningMatches; i++) {
+            homeTeams[i] = "Home team " + i;
+            awayTeams[i] = "Away team " + i;
+            homeTeamScores[i] = i % 7;
+            matches.add(homeTeams[i], awayTeams[i], nextMatchNo++);
+            matches.update(matches.find(homeTeams[i], awayTeams[i]), homeTeamScores[i], 0);
+        }
+    }
+
+    @Benchmark
+    public Match find() {
+        int match = nextMatch();
+        return matches.find(homeTeams[match], awayTeams[match]);
+    }
+
+    @Benchmark
+    public void addAndFinish() {
+        matches.finish(matches.add("Extra home team", "Extra away team", nextMatchNo++));
+    }
+
+    @Benchmark
+    public void update() {
+        int match = nextMatch();
+        homeTeamScores[match] += 1;
+        matches.update(matches.find(homeTeams[match], awayTeams[match]), homeTeamScores[match], 0);
+    }
+
+    @Benchmark
+    public int rankOfFirstStarted() {
+        return matches.rankOf(matches.find(homeTeams[0], awayTeams[0]));
+    }
+
+    private int nextMatch() {
+        int match = nextMatch;
+        nextMatch = match + 1 == runningMatches ? 0 : match + 1;
+        return match;
+    }
+
+}
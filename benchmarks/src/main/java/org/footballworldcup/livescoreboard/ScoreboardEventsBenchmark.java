@@ -0,0 +1,86 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an update of a {@link LiveScoreboard} for the writer, with and without a subscriber of its changes.
+ * Every update scores one more goal, so it always moves its match and its events carry two ranks.
+ * The subscriber is signalled on the writer's thread, so its cost, consuming each event, is included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class ScoreboardEventsBenchmark {
+
+    @Param({"1000", "100000"})
+    int runningMatches;
+
+    @Param({"false", "true"})
+    boolean subscribed;
+
+    private LiveScoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] homeTeamScores;
+    private int nextMatch;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        scoreboard = new LiveScoreboard(Runnable::run, 1024);
+        homeTeams = new String[runningMatches];
+        awayTeams = new String[runningMatches];
+        homeTeamScores = new int[runningMatches];
+        for (int i = 0; i < runningMatches; i++) {
+            homeTeams[i] = "Home team " + i;
+            awayTeams[i] = "Away team " + i;
+            homeTeamScores[i] = i % 7;
+            scoreboard.start(homeTeams[i], awayTeams[i]);
+            scoreboard.update(homeTeams[i], awayTeams[i], homeTeamScores[i], 0);
+        }
+        if (subscribed) scoreboard.changes().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ScoreboardEvent event) {
+                blackhole.consume(event);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    @Benchmark
+    public void update() {
+        int match = nextMatch;
+        nextMatch = match + 1 == runningMatches ? 0 : match + 1;
+        homeTeamScores[match] += 1;
+        scoreboard.update(homeTeams[match], awayTeams[match], homeTeamScores[match], 0);
+    }
+
+}
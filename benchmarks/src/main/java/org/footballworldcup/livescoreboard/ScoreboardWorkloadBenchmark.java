@@ -0,0 +1,102 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A feed of updates mixed with reads of the top of the summary, on each kind of board.
+ * <p>
+ * Run with {@code -t <threads>} to share the board between threads, each updating its own matches.
+ * Only the concurrent board can be shared, the others are skipped when there is more than one thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ScoreboardWorkloadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Board {
+
+        @Param({"1000", "1000000"})
+        int runningMatches;
+
+        @Param({"live", "compact", "concurrent"})
+        String board;
+
+        Scoreboard scoreboard;
+        String[] homeTeams;
+        String[] awayTeams;
+
+        @Setup
+        public void setUp(BenchmarkParams params) {
+            if (params.getThreads() > 1 && !board.equals("concurrent"))
+                throw new IllegalStateException("Only the concurrent board can be shared between threads");
+            scoreboard = switch (board) {
+                case "live" -> new LiveScoreboard();
+                case "compact" -> new CompactLiveScoreboard();
+                case "concurrent" -> new ConcurrentLiveScoreboard();
+                default -> throw new IllegalArgumentException("Unknown board " + board);
+            };
+            homeTeams = new String[runningMatches];
+            awayTeams = new String[runningMatches];
+            for (int i = 0; i < runningMatches; i++) {
+                homeTeams[i] = "Home team " + i;
+                awayTeams[i] = "Away team " + i;
+                scoreboard.start(homeTeams[i], awayTeams[i]);
+            }
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Feed {
+
+        @Param({"1", "10"})
+        int readsPerUpdate;
+
+        // each thread updates its own share of the matches, so updates never clash
+        int firstMatch;
+        int matchCount;
+        int[] homeTeamScores;
+        int nextMatch;
+        int operation;
+
+        @Setup
+        public void setUp(Board board, ThreadParams threads) {
+            matchCount = Math.max(1, board.runningMatches / threads.getThreadCount());
+            firstMatch = threads.getThreadIndex() * matchCount % board.runningMatches;
+            homeTeamScores = new int[matchCount];
+        }
+
+    }
+
+    @Benchmark
+    public void updateOrReadTop10(Board board, Feed feed, Blackhole blackhole) {
+        if (feed.operation++ % (feed.readsPerUpdate + 1) != 0) {
+            blackhole.consume(board.scoreboard.getSummary(10));
+            return;
+        }
+        int match = feed.nextMatch;
+        feed.nextMatch = match + 1 == feed.matchCount ? 0 : match + 1;
+        feed.homeTeamScores[match] += 1;
+        board.scoreboard.update(board.homeTeams[feed.firstMatch + match], board.awayTeams[feed.firstMatch + match],
+                feed.homeTeamScores[match], 0);
+    }
+
+}
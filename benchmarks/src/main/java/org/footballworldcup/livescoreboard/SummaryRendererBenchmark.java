@@ -0,0 +1,71 @@
+package org.footballworldcup.livescoreboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of rendering a whole summary as text: through {@link SummarizedMatch#toString()} and
+ * with a {@link SummaryRenderer}, as characters and as UTF-8 bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SummaryRendererBenchmark {
+
+    @Param({"10", "100"})
+    private int matches;
+
+    private List<SummarizedMatch> summary;
+    private SummaryRenderer renderer;
+    private StringBuilder builder;
+
+    @Setup
+    public void setUp() {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        for (int i = 0; i < matches; i++) {
+            scoreboard.start("Home team " + i, "Away team " + i);
+            scoreboard.update("Home team " + i, "Away team " + i, i % 7, i % 3);
+        }
+        summary = scoreboard.getSummary();
+        renderer = new SummaryRenderer();
+        builder = new StringBuilder();
+    }
+
+    @Benchmark
+    public byte[] toStringPerMatch() {
+        StringBuilder text = new StringBuilder();
+        for (SummarizedMatch match : summary) {
+            text.append(match).append('\n');
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public StringBuilder rendererToBuilder() {
+        builder.setLength(0);
+        return renderer.render(summary, builder);
+    }
+
+    @Benchmark
+    public ByteBuffer rendererToBytes() {
+        return renderer.encode(summary);
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.List;
+
+/**
+ * The result of a single command of a batch.
+ *
+ * @param command the command the result is for
+ * @param error the exception the command was rejected with, or null if the command was applied
+ */
+public record CommandResult(ScoreCommand command, IllegalArgumentException error) {
+
+    static CommandResult applied(ScoreCommand command) {
+        return new CommandResult(command, null);
+    }
+
+    static CommandResult rejected(ScoreCommand command, IllegalArgumentException error) {
+        return new CommandResult(command, error);
+    }
+
+    public boolean isApplied() {
+        return error == null;
+    }
+
+    // a batch with any command applied makes a new version, even if it was stopped by an unexpected exception
+    static boolean anyApplied(List<CommandResult> results) {
+        for (CommandResult result : results) {
+            if (result.isApplied()) return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single-threaded scoreboard for very many running matches, such as simulations of whole seasons.
+ * <p>
+ * Matches are kept in parallel primitive arrays rather than as one object each, and the slots of finished
+ * matches are reused by the next started ones, so a board of a million matches is a handful of large arrays
+ * the garbage collector barely has to look into. It behaves exactly like {@link LiveScoreboard}, but has
+ * no journal and publishes no events.
+ */
+public class CompactLiveScoreboard implements Scoreboard {
+
+    private final MatchSlots matchSlots;
+    private int nextMatchNo;
+    private long version;
+    // summary of the current version, built on first read and dropped on any change
+    private SummarySnapshot snapshot;
+
+    CompactLiveScoreboard() {
+        this.matchSlots = new MatchSlots();
+        this.nextMatchNo = 0;
+        this.version = 0;
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary() {
+        return getSnapshot().matches();
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary(int offset, int limit) {
+        SummarizedMatch.checkRange(offset, limit);
+        if (snapshot != null) return SummarizedMatch.page(snapshot.matches(), offset, limit);
+        return matchSlots.summarize(offset, limit);
+    }
+
+    @Override
+    public SummarySnapshot getSnapshot() {
+        if (snapshot == null) snapshot = new SummarySnapshot(version, matchSlots.summarize(0, Integer.MAX_VALUE));
+        return snapshot;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public void start(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        applyStart(homeTeam, awayTeam);
+        changed();
+    }
+
+    @Override
+    public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        matchSlots.update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        changed();
+    }
+
+    @Override
+    public void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        matchSlots.finish(homeTeam, awayTeam);
+        changed();
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        try {
+            new BatchCommands().applyAll(commands, results);
+        } finally {
+            if (CommandResult.anyApplied(results)) changed();
+        }
+        return results;
+    }
+
+    private void applyStart(String homeTeam, String awayTeam) {
+        matchSlots.add(homeTeam, awayTeam, nextMatchNo);
+        nextMatchNo += 1;
+    }
+
+    private void changed() {
+        version += 1;
+        snapshot = null;
+    }
+
+    int getCapacity() {
+        return matchSlots.capacity();
+    }
+
+    // applies the commands of a batch, the version is changed once for the whole batch
+    private class BatchCommands implements ScoreCommandHandler {
+
+        @Override
+        public void start(String homeTeam, String awayTeam) {
+            applyStart(homeTeam, awayTeam);
+        }
+
+        @Override
+        public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+            matchSlots.update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        }
+
+        @Override
+        public void finish(String homeTeam, String awayTeam) {
+            matchSlots.finish(homeTeam, awayTeam);
+        }
+
+    }
+
+}
@@ -0,0 +1,283 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A scoreboard that can be shared between many writer and reader threads.
+ * <p>
+ * Writes lock only the stripes guarding the two team names involved, so feeds writing to different matches
+ * rarely wait for each other. Each write takes effect atomically at a single point while its locks are held.
+ * <p>
+ * Summaries don't lock: a summary is read optimistically and read again if any write overlapped it.
+ * Only when writes keep overlapping does the reader lock all stripes. Either way the returned summary
+ * is the exact state of the board at some instant between the call and its return, so all operations
+ * are linearizable. Matches started concurrently are ordered in the summary by the order in which they
+ * were admitted to the board.
+ * <p>
+ * The latest summary is cached, so repeated reads of an unchanged board return the same snapshot
+ * after two volatile reads, without waiting for writers.
+ */
+public class ConcurrentLiveScoreboard implements Scoreboard {
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int OPTIMISTIC_READ_ATTEMPTS = 4;
+
+    private final ReentrantLock[] stripes;
+    // each entry is modified only while holding the stripe lock of its team name
+    private final Map<String, Match> matchesByTeam;
+    // published matches are never mutated, an update replaces the match with a new instance
+    private final NavigableSet<Match> rankedMatches;
+    private final AtomicInteger nextMatchNo;
+    private final AtomicInteger writesInProgress;
+    private final AtomicLong completedWrites;
+    // latest summary taken, readers share it until another write completes
+    private final AtomicReference<SummarySnapshot> snapshot;
+
+    ConcurrentLiveScoreboard() {
+        this(DEFAULT_STRIPES);
+    }
+
+    ConcurrentLiveScoreboard(int stripes) {
+        if (stripes < 1) throw new IllegalArgumentException("Number of stripes must be positive");
+        // rounded up to a power of two, so a stripe can be picked by masking the hash
+        this.stripes = new ReentrantLock[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.matchesByTeam = new ConcurrentHashMap<>();
+        this.rankedMatches = new ConcurrentSkipListSet<>(new MatchesComparator());
+        this.nextMatchNo = new AtomicInteger();
+        this.writesInProgress = new AtomicInteger();
+        this.completedWrites = new AtomicLong();
+        this.snapshot = new AtomicReference<>();
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary() {
+        return getSnapshot().matches();
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary(int offset, int limit) {
+        SummarizedMatch.checkRange(offset, limit);
+        SummarySnapshot snapshot = this.snapshot.get();
+        if (snapshot != null && snapshot.version() == completedWrites.get())
+            return SummarizedMatch.page(snapshot.matches(), offset, limit);
+        return readSnapshot(offset, limit).matches();
+    }
+
+    @Override
+    public SummarySnapshot getSnapshot() {
+        SummarySnapshot snapshot = this.snapshot.get();
+        // no write completed since the snapshot was taken, so it is still the current state
+        if (snapshot != null && snapshot.version() == completedWrites.get()) return snapshot;
+        SummarySnapshot newSnapshot = readSnapshot(0, Integer.MAX_VALUE);
+        return this.snapshot.updateAndGet(current ->
+                current == null || current.version() < newSnapshot.version() ? newSnapshot : current);
+    }
+
+    @Override
+    public long getVersion() {
+        return completedWrites.get();
+    }
+
+    @Override
+    public void start(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        lock(homeTeam, awayTeam);
+        beginWrite();
+        boolean changed = false;
+        try {
+            startLocked(homeTeam, awayTeam);
+            changed = true;
+        } finally {
+            endWrite(changed);
+            unlock(homeTeam, awayTeam);
+        }
+    }
+
+    @Override
+    public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        lock(homeTeam, awayTeam);
+        beginWrite();
+        boolean changed = false;
+        try {
+            updateLocked(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            changed = true;
+        } finally {
+            endWrite(changed);
+            unlock(homeTeam, awayTeam);
+        }
+    }
+
+    @Override
+    public void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        lock(homeTeam, awayTeam);
+        beginWrite();
+        boolean changed = false;
+        try {
+            finishLocked(homeTeam, awayTeam);
+            changed = true;
+        } finally {
+            endWrite(changed);
+            unlock(homeTeam, awayTeam);
+        }
+    }
+
+    /**
+     * Applies all commands while holding every stripe, as a single write.
+     * Readers see the board either before or after the whole batch.
+     */
+    @Override
+    public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        lockAll();
+        beginWrite();
+        try {
+            new LockedCommands().applyAll(commands, results);
+        } finally {
+            endWrite(CommandResult.anyApplied(results));
+            unlockAll();
+        }
+        return results;
+    }
+
+    // the *Locked methods expect the stripes of both teams to be held inside a write
+
+    private void startLocked(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        StartRule.require(homeTeam, awayTeam, matchesByTeam::containsKey);
+        // the order number is taken inside the write, so a reader never sees a later started match
+        // without all earlier ones
+        Match match = new Match(homeTeam, awayTeam, nextMatchNo.getAndIncrement());
+        matchesByTeam.put(homeTeam, match);
+        matchesByTeam.put(awayTeam, match);
+        rankedMatches.add(match);
+    }
+
+    private void updateLocked(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        Match match = findMatch(homeTeam, awayTeam);
+        if (!match.isNotLowerScore(homeTeamScore, awayTeamScore))
+            throw new LowerScoreException("Score can't be lowered");
+        Match updatedMatch = new Match(homeTeam, awayTeam, homeTeamScore, awayTeamScore, match.getOrderNo());
+        rankedMatches.remove(match);
+        rankedMatches.add(updatedMatch);
+        matchesByTeam.put(homeTeam, updatedMatch);
+        matchesByTeam.put(awayTeam, updatedMatch);
+    }
+
+    private void finishLocked(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        Match match = findMatch(homeTeam, awayTeam);
+        rankedMatches.remove(match);
+        matchesByTeam.remove(homeTeam);
+        matchesByTeam.remove(awayTeam);
+    }
+
+    private SummarySnapshot readSnapshot(int offset, int limit) {
+        for (int attempt = 0; attempt < OPTIMISTIC_READ_ATTEMPTS; attempt++) {
+            long completed = completedWrites.get();
+            if (writesInProgress.get() != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            List<SummarizedMatch> summary = SummarizedMatch.summarize(rankedMatches, offset, limit);
+            // no write started or finished while summarizing, so the summary is a consistent state
+            if (writesInProgress.get() == 0 && completedWrites.get() == completed)
+                return new SummarySnapshot(completed, summary);
+        }
+        lockAll();
+        try {
+            return new SummarySnapshot(
+                    completedWrites.get(), SummarizedMatch.summarize(rankedMatches, offset, limit));
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private Match findMatch(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        if (homeTeam == null || awayTeam == null) throw new MatchNotFoundException("Match not found");
+        Match match = matchesByTeam.get(homeTeam);
+        if (match == null || !match.isMatchOfTeams(homeTeam, awayTeam))
+            throw new MatchNotFoundException("Match not found");
+        return match;
+    }
+
+    private void beginWrite() {
+        writesInProgress.incrementAndGet();
+    }
+
+    // a rejected write changed nothing, so it doesn't count as a new version
+    private void endWrite(boolean changed) {
+        if (changed) completedWrites.incrementAndGet();
+        writesInProgress.decrementAndGet();
+    }
+
+    private int stripeOf(String team) {
+        int hash = team == null ? 0 : team.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    // stripes are always locked in ascending order, so writers and the locking reader can't deadlock
+    private void lock(String homeTeam, String awayTeam) {
+        int homeStripe = stripeOf(homeTeam);
+        int awayStripe = stripeOf(awayTeam);
+        stripes[Math.min(homeStripe, awayStripe)].lock();
+        if (homeStripe != awayStripe) stripes[Math.max(homeStripe, awayStripe)].lock();
+    }
+
+    private void unlock(String homeTeam, String awayTeam) {
+        int homeStripe = stripeOf(homeTeam);
+        int awayStripe = stripeOf(awayTeam);
+        if (homeStripe != awayStripe) stripes[Math.max(homeStripe, awayStripe)].unlock();
+        stripes[Math.min(homeStripe, awayStripe)].unlock();
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    // applies the commands of a batch while all stripes are held inside a write
+    private class LockedCommands implements ScoreCommandHandler {
+
+        @Override
+        public void start(String homeTeam, String awayTeam) {
+            startLocked(homeTeam, awayTeam);
+        }
+
+        @Override
+        public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+            updateLocked(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        }
+
+        @Override
+        public void finish(String homeTeam, String awayTeam) {
+            finishLocked(homeTeam, awayTeam);
+        }
+
+    }
+
+}
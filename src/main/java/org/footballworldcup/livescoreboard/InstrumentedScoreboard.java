@@ -0,0 +1,227 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A scoreboard measuring every operation of the board it wraps: how many were called, how long they took
+ * and why they were rejected. The metrics can be registered as a standard MBean on the platform MBean server.
+ * <p>
+ * Every operation is counted, but only a random sample of them is timed, one in eight by default, as reading
+ * the nanosecond clock costs more than counting. A board that isn't wrapped isn't measured at all,
+ * so metrics are disabled by simply not wrapping it.
+ * The wrapper is as thread-safe as the wrapped board.
+ * <p>
+ * The running matches are counted from the size of the board when wrapped, then from the matches started and
+ * finished through the wrapper, as the metrics may be read on a thread the board isn't safe to read from.
+ * So every write must go through the wrapper: a write made to the board directly leaves the count off for good.
+ */
+public class InstrumentedScoreboard implements Scoreboard {
+
+    private static final int DEFAULT_LATENCY_SAMPLING = 8;
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final Scoreboard scoreboard;
+    private final ScoreboardMetrics metrics;
+    // one in this many operations is timed, on average
+    private final int latencySampling;
+
+    InstrumentedScoreboard(Scoreboard scoreboard) {
+        this(scoreboard, DEFAULT_LATENCY_SAMPLING);
+    }
+
+    InstrumentedScoreboard(Scoreboard scoreboard, int latencySampling) {
+        if (latencySampling < 1) throw new IllegalArgumentException("Latency sampling must be positive");
+        this.scoreboard = scoreboard;
+        this.metrics = new ScoreboardMetrics(scoreboard.getSnapshot().matches().size());
+        this.latencySampling = latencySampling;
+    }
+
+    public ScoreboardMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the metrics on the platform MBean server,
+     * as {@code org.footballworldcup.livescoreboard:type=Scoreboard,name=<name>}.
+     *
+     * @param name the name telling the board apart from other boards of the application
+     * @return the name the metrics were registered under
+     * @throws JMException if the metrics can't be registered, for example when the name is already taken
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName =
+                new ObjectName("org.footballworldcup.livescoreboard:type=Scoreboard,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+        return objectName;
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary() {
+        long start = begin();
+        try {
+            return scoreboard.getSummary();
+        } finally {
+            end(metrics.summaryCount, metrics.summaryLatency, start);
+        }
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary(int offset, int limit) {
+        long start = begin();
+        try {
+            return scoreboard.getSummary(offset, limit);
+        } catch (IllegalArgumentException exception) {
+            metrics.recordError(exception);
+            throw exception;
+        } finally {
+            end(metrics.summaryCount, metrics.summaryLatency, start);
+        }
+    }
+
+    @Override
+    public SummarySnapshot getSnapshot() {
+        long start = begin();
+        try {
+            return scoreboard.getSnapshot();
+        } finally {
+            end(metrics.summaryCount, metrics.summaryLatency, start);
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return scoreboard.getVersion();
+    }
+
+    @Override
+    public void start(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        long start = begin();
+        try {
+            scoreboard.start(homeTeam, awayTeam);
+            metrics.matchesStarted(1);
+        } catch (IllegalArgumentException exception) {
+            metrics.recordError(exception);
+            throw exception;
+        } finally {
+            end(metrics.startCount, metrics.startLatency, start);
+        }
+    }
+
+    @Override
+    public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        long start = begin();
+        try {
+            scoreboard.update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        } catch (IllegalArgumentException exception) {
+            metrics.recordError(exception);
+            throw exception;
+        } finally {
+            end(metrics.updateCount, metrics.updateLatency, start);
+        }
+    }
+
+    @Override
+    public void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        long start = begin();
+        try {
+            scoreboard.finish(homeTeam, awayTeam);
+            metrics.matchesFinished(1);
+        } catch (IllegalArgumentException exception) {
+            metrics.recordError(exception);
+            throw exception;
+        } finally {
+            end(metrics.finishCount, metrics.finishLatency, start);
+        }
+    }
+
+    @Override
+    public ScoreOutcome tryStart(String homeTeam, String awayTeam) {
+        long start = begin();
+        try {
+            ScoreOutcome outcome = scoreboard.tryStart(homeTeam, awayTeam);
+            if (outcome == ScoreOutcome.OK) {
+                metrics.matchesStarted(1);
+            } else {
+                metrics.recordError(outcome);
+            }
+            return outcome;
+        } finally {
+            end(metrics.startCount, metrics.startLatency, start);
+        }
+    }
+
+    @Override
+    public ScoreOutcome tryUpdate(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        long start = begin();
+        try {
+            ScoreOutcome outcome = scoreboard.tryUpdate(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            if (outcome != ScoreOutcome.OK) metrics.recordError(outcome);
+            return outcome;
+        } finally {
+            end(metrics.updateCount, metrics.updateLatency, start);
+        }
+    }
+
+    @Override
+    public ScoreOutcome tryFinish(String homeTeam, String awayTeam) {
+        long start = begin();
+        try {
+            ScoreOutcome outcome = scoreboard.tryFinish(homeTeam, awayTeam);
+            if (outcome == ScoreOutcome.OK) {
+                metrics.matchesFinished(1);
+            } else {
+                metrics.recordError(outcome);
+            }
+            return outcome;
+        } finally {
+            end(metrics.finishCount, metrics.finishLatency, start);
+        }
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        long start = begin();
+        List<CommandResult> results;
+        try {
+            results = scoreboard.applyBatch(commands);
+        } finally {
+            end(metrics.batchCount, metrics.batchLatency, start);
+        }
+        int started = 0;
+        int finished = 0;
+        for (CommandResult result : results) {
+            if (!result.isApplied()) {
+                metrics.recordError(result.error());
+            } else if (result.command() instanceof ScoreCommand.Start) {
+                started += 1;
+            } else if (result.command() instanceof ScoreCommand.Finish) {
+                finished += 1;
+            }
+        }
+        metrics.matchesStarted(started);
+        metrics.matchesFinished(finished);
+        return results;
+    }
+
+    private long begin() {
+        return ThreadLocalRandom.current().nextInt(latencySampling) == 0 ? System.nanoTime() : NOT_TIMED;
+    }
+
+    private static void end(LongAdder count, LatencyHistogram latency, long start) {
+        count.increment();
+        if (start != NOT_TIMED) latency.record(System.nanoTime() - start);
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.footballworldcup.livescoreboard;
+
+/**
+ * Decides how often journal records are forced to disk.
+ * Records appended by a single operation or batch are always forced together, as one group commit.
+ *
+ * @param recordsPerSync the number of records after which the journal is forced to disk,
+ *                       or 0 to leave flushing to the operating system until the journal is closed
+ */
+public record JournalSyncPolicy(int recordsPerSync) {
+
+    /**
+     * Forces every operation to disk before it returns.
+     */
+    public static final JournalSyncPolicy EVERY_RECORD = new JournalSyncPolicy(1);
+
+    /**
+     * Forces the journal to disk only when it is closed or synced explicitly.
+     */
+    public static final JournalSyncPolicy ON_CLOSE = new JournalSyncPolicy(0);
+
+    public JournalSyncPolicy {
+        if (recordsPerSync < 0) throw new IllegalArgumentException("Records per sync can't be negative");
+    }
+
+    /**
+     * Forces the journal to disk once at least the given number of records was appended since the last sync.
+     */
+    public static JournalSyncPolicy everyRecords(int recordsPerSync) {
+        return new JournalSyncPolicy(recordsPerSync);
+    }
+
+}
@@ -5,57 +5,608 @@ import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
 import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
 import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 
 public class LiveScoreboard implements Scoreboard {
 
+    private static final int DEFAULT_EVENT_BUFFER_SIZE = 1024;
+
     private final RunningMatches runningMatches;
-    private final MatchesComparator matchesComparator;
     private int nextMatchNo;
+    private long version;
+    // summary of the current version, built on first read and dropped on any change
+    private SummarySnapshot snapshot;
+    // appends every successful operation when the board is journaled, null otherwise
+    private ScoreboardJournal journal;
+    // keeps every finished match when the board is archived, null otherwise
+    private MatchArchive archive;
+    // stamps the updates of matches kept with a timeline, null when timelines aren't recorded
+    private Clock timelineClock;
+    // sequenced messages dropped for repeating or preceding the last message applied to their match
+    private long duplicateMessages;
+    private long staleMessages;
+    // latest accepted scores not yet applied to the order, oldest first, null unless updates are conflated
+    private LinkedHashMap<Match, PendingScore> pendingScores;
+    private long conflationWindowMillis;
+    private Clock conflationClock;
+    private final ScoreboardEventPublisher events;
 
     LiveScoreboard() {
+        this(ForkJoinPool.commonPool(), DEFAULT_EVENT_BUFFER_SIZE);
+    }
+
+    LiveScoreboard(Executor eventExecutor, int eventBufferSize) {
         this.runningMatches = new RunningMatches();
-        this.matchesComparator = new MatchesComparator();
         this.nextMatchNo = 0;
+        this.version = 0;
+        this.events = new ScoreboardEventPublisher(this::currentSnapshot, eventExecutor, eventBufferSize);
+    }
+
+    /**
+     * Rebuilds a board by replaying all records of the journal, then keeps appending to it.
+     * The recovered board orders matches exactly as the board that wrote the journal.
+     *
+     * @throws IllegalStateException if a record can't be replayed
+     */
+    static LiveScoreboard recover(ScoreboardJournal journal) {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.replay(journal);
+        scoreboard.journal = journal;
+        return scoreboard;
+    }
+
+    /**
+     * Rebuilds a board from a checkpoint and the records journaled after it, then keeps appending to the journal.
+     *
+     * @throws IOException if the checkpoint can't be read
+     * @throws IllegalStateException if the journal doesn't continue the checkpoint or a record can't be replayed
+     */
+    static LiveScoreboard recover(Path checkpointFile, ScoreboardJournal journal) throws IOException {
+        ScoreboardCheckpoint checkpoint = ScoreboardCheckpoint.read(checkpointFile);
+        LiveScoreboard scoreboard = restore(checkpoint);
+        long generation = checkpoint.journalGeneration();
+        if (journal.getGeneration() == generation) {
+            // the checkpoint was written, but the journal wasn't reset before a crash
+            journal.reset(generation + 1);
+        } else if (journal.getGeneration() == generation + 1) {
+            scoreboard.replay(journal);
+        } else {
+            throw new IllegalStateException("Journal doesn't continue the checkpoint");
+        }
+        scoreboard.journal = journal;
+        return scoreboard;
+    }
+
+    /**
+     * Rebuilds a board from a checkpoint alone.
+     *
+     * @throws IOException if the checkpoint can't be read
+     */
+    static LiveScoreboard restore(Path checkpointFile) throws IOException {
+        return restore(ScoreboardCheckpoint.read(checkpointFile));
+    }
+
+    static LiveScoreboard restore(ScoreboardCheckpoint checkpoint) {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.runningMatches.restore(checkpoint.rankedMatches());
+        scoreboard.nextMatchNo = checkpoint.nextMatchNo();
+        return scoreboard;
+    }
+
+    /**
+     * Saves all running matches in a checkpoint file.
+     * If the board is journaled, the journal starts over, as its records are now part of the checkpoint.
+     */
+    void checkpoint(Path checkpointFile) throws IOException {
+        applyPendingScores();
+        long generation = journal == null ? 0 : journal.getGeneration();
+        ScoreboardCheckpoint.write(checkpointFile, generation, nextMatchNo, runningMatches.getRankedMatches());
+        if (journal != null) journal.reset(generation + 1);
+    }
+
+    /**
+     * Archives every match finished from now on, so finished results can still be queried.
+     * Only finishing a match pays for archiving it.
+     */
+    void archiveTo(MatchArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Records a timeline of the updates of every match started from now on, stamped by the clock.
+     */
+    void recordTimelines(Clock clock) {
+        this.timelineClock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Conflates updates from now on: an accepted update is kept pending instead of moving its match, and a later
+     * update of the same match replaces it, checked against the pending score. The latest score of a match is
+     * applied once the window has passed since its first pending update, or as soon as the board is read,
+     * a match is started or finished or a batch is applied, so readers never see a score older than the window
+     * allows. A bursty feed then moves each match and bumps the version once per window rather than per update.
+     * Timelines still record every accepted score, stamped when it's accepted.
+     * <p>
+     * The board has no thread of its own, so a pending score is applied only when the board is next called.
+     * Subscribers of {@link #changes()} don't call it, so once the feed goes quiet they get the last scores only
+     * if the thread owning the board calls {@link #applyExpiredUpdates()}, for instance from a task it runs
+     * every window.
+     */
+    void conflateUpdates(Duration window, Clock clock) {
+        if (window.isNegative()) throw new IllegalArgumentException("Window can't be negative");
+        this.conflationClock = Objects.requireNonNull(clock);
+        this.conflationWindowMillis = window.toMillis();
+        if (pendingScores == null) pendingScores = new LinkedHashMap<>();
+    }
+
+    /**
+     * Applies the pending scores whose window has passed, as a single change of the board published to
+     * subscribers. Does nothing unless updates are conflated.
+     */
+    void applyExpiredUpdates() {
+        if (pendingScores != null && !pendingScores.isEmpty())
+            applyPendingScores(conflationClock.millis() - conflationWindowMillis);
+    }
+
+    // image of all running matches in the checkpoint format, for boards that aren't saved to a file
+    ByteBuffer encodeCheckpoint() {
+        applyPendingScores();
+        return ScoreboardCheckpoint.encode(0, nextMatchNo, runningMatches.getRankedMatches());
+    }
+
+    private void replay(ScoreboardJournal journal) {
+        for (CommandResult result : applyBatch(journal.readRecords())) {
+            if (!result.isApplied())
+                throw new IllegalStateException(
+                        "Journal record can't be replayed: " + result.command(), result.error());
+        }
     }
 
     @Override
     public List<SummarizedMatch> getSummary() {
-        return summarize(getMatches());
+        return getSnapshot().matches();
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary(int offset, int limit) {
+        SummarizedMatch.checkRange(offset, limit);
+        applyPendingScores();
+        if (snapshot != null) return SummarizedMatch.page(snapshot.matches(), offset, limit);
+        return SummarizedMatch.summarize(runningMatches.getRankedMatches(), offset, limit);
+    }
+
+    @Override
+    public SummarySnapshot getSnapshot() {
+        applyPendingScores();
+        return currentSnapshot();
+    }
+
+    // the snapshot without applying pending scores, as the publisher asks for it while a change is published,
+    // possibly amid applying pending scores, where applying the rest would publish a change within the change
+    private SummarySnapshot currentSnapshot() {
+        if (snapshot == null) {
+            List<SummarizedMatch> summary =
+                    SummarizedMatch.summarize(runningMatches.getRankedMatches(), 0, Integer.MAX_VALUE);
+            snapshot = new SummarySnapshot(version, summary);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public long getVersion() {
+        applyPendingScores();
+        return version;
+    }
+
+    /**
+     * Passes every running match to the visitor, in the order of {@link #getSummary()}, without creating
+     * a summary or any object per match. The visitor must not change the board.
+     */
+    public void forEachInOrder(SummaryVisitor visitor) {
+        applyPendingScores();
+        runningMatches.forEachRanked(visitor);
+    }
+
+    /**
+     * Returns a publisher of all changes of the board, starting from the moment of subscription.
+     * Events are generated only while there is at least one subscriber. Subscribers are called on the
+     * common fork-join pool, and a subscriber too slow to keep up gets a summary reset instead of
+     * the events it missed, so it never holds up the board.
+     *
+     * @return the publisher of board changes
+     */
+    public Flow.Publisher<ScoreboardEvent> changes() {
+        return events;
+    }
+
+    /**
+     * Resolves a team name to the id this board knows the team by. Operations taking team ids skip
+     * hashing and comparing the names, so feeds sending many updates should resolve their teams once.
+     *
+     * @param name the name of the team
+     * @return the id of the team, the same for every call with an equal name
+     * @throws BlankTeamNameException if the name is null or blank
+     */
+    public TeamId team(String name) throws BlankTeamNameException {
+        return runningMatches.team(name);
+    }
+
+    /**
+     * Returns the timeline of the updates of a running match, which keeps growing while the match runs.
+     *
+     * @return the timeline, or null if the match was started while timelines weren't recorded
+     * @throws MatchNotFoundException if there is no such running match
+     */
+    public MatchTimeline getTimeline(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        applyPendingScores();
+        Match match = runningMatches.find(homeTeam, awayTeam);
+        if (match == null) throw new MatchNotFoundException("Match not found");
+        return match.getTimeline();
     }
 
     @Override
     public void start(String homeTeam, String awayTeam)
             throws ClashingTeamsException, BlankTeamNameException {
-        runningMatches.add(homeTeam, awayTeam, nextMatchNo);
-        nextMatchNo += 1;
+        start(homeTeam, awayTeam, false);
     }
 
     @Override
     public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
             throws LowerScoreException, MatchNotFoundException {
-        runningMatches.update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        if (pendingScores != null) {
+            conflate(runningMatches.find(homeTeam, awayTeam), homeTeamScore, awayTeamScore);
+            return;
+        }
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>(2) : null;
+        applyUpdate(homeTeam, awayTeam, homeTeamScore, awayTeamScore, changes);
+        changed(changes);
+        if (journal != null) journal(new ScoreCommand.Update(homeTeam, awayTeam, homeTeamScore, awayTeamScore));
     }
 
     @Override
     public void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
-        runningMatches.finish(homeTeam, awayTeam);
+        applyPendingScores();
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>(1) : null;
+        applyFinish(homeTeam, awayTeam, changes);
+        changed(changes);
+        if (journal != null) journal(new ScoreCommand.Finish(homeTeam, awayTeam));
+    }
+
+    // the try* methods check the input up front, so rejecting it doesn't create an exception at all
+
+    @Override
+    public ScoreOutcome tryStart(String homeTeam, String awayTeam) {
+        ScoreOutcome outcome = runningMatches.checkAdd(homeTeam, awayTeam);
+        if (outcome == ScoreOutcome.OK) start(homeTeam, awayTeam, true);
+        return outcome;
+    }
+
+    @Override
+    public ScoreOutcome tryUpdate(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        Match match = runningMatches.find(homeTeam, awayTeam);
+        if (match == null) return ScoreOutcome.NOT_FOUND;
+        if (!isNotLowerScore(match, homeTeamScore, awayTeamScore)) return ScoreOutcome.LOWER_SCORE;
+        update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        return ScoreOutcome.OK;
+    }
+
+    @Override
+    public ScoreOutcome tryFinish(String homeTeam, String awayTeam) {
+        if (runningMatches.find(homeTeam, awayTeam) == null) return ScoreOutcome.NOT_FOUND;
+        finish(homeTeam, awayTeam);
+        return ScoreOutcome.OK;
+    }
+
+    /**
+     * Updates a match, unless a message with the same or a later sequence number was already applied to it.
+     * Sequence numbers are per match and only have to increase, so feeds delivering messages more than once
+     * or out of order, or several redundant feeds of the same matches, can be applied as they arrive.
+     * The first sequenced message of a match is always applied.
+     *
+     * @return {@link ScoreOutcome#STALE} if the message was dropped, otherwise as
+     * {@link #tryUpdate(String, String, int, int)}
+     */
+    public ScoreOutcome tryUpdate(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore,
+                                  long sequence) {
+        Match match = runningMatches.find(homeTeam, awayTeam);
+        if (match == null) return ScoreOutcome.NOT_FOUND;
+        if (isStale(match, sequence)) return ScoreOutcome.STALE;
+        if (!isNotLowerScore(match, homeTeamScore, awayTeamScore)) return ScoreOutcome.LOWER_SCORE;
+        update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        match.setSequence(sequence);
+        return ScoreOutcome.OK;
+    }
+
+    /**
+     * Finishes a match, unless a message with the same or a later sequence number was already applied to it,
+     * see {@link #tryUpdate(String, String, int, int, long)}. A finished match is gone, so repeating the finish
+     * gives {@link ScoreOutcome#NOT_FOUND}.
+     */
+    public ScoreOutcome tryFinish(String homeTeam, String awayTeam, long sequence) {
+        Match match = runningMatches.find(homeTeam, awayTeam);
+        if (match == null) return ScoreOutcome.NOT_FOUND;
+        if (isStale(match, sequence)) return ScoreOutcome.STALE;
+        finish(homeTeam, awayTeam);
+        return ScoreOutcome.OK;
+    }
+
+    /**
+     * Returns the number of sequenced messages dropped for having the sequence number of the last message
+     * applied to their match.
+     */
+    public long getDuplicateMessages() {
+        return duplicateMessages;
+    }
+
+    /**
+     * Returns the number of sequenced messages dropped for having a sequence number lower than the last message
+     * applied to their match.
+     */
+    public long getStaleMessages() {
+        return staleMessages;
+    }
+
+    /**
+     * Starts a match of teams resolved by {@link #team(String)}, see {@link #start(String, String)}.
+     *
+     * @throws IllegalArgumentException if a team id wasn't issued by this board
+     */
+    public void start(TeamId homeTeam, TeamId awayTeam) throws ClashingTeamsException {
+        applyPendingScores();
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>(1) : null;
+        started(runningMatches.add(homeTeam, awayTeam, nextMatchNo), changes);
+        changed(changes);
+        if (journal != null) journal(new ScoreCommand.Start(homeTeam.name(), awayTeam.name()));
+    }
+
+    /**
+     * Updates a match of teams resolved by {@link #team(String)}, see {@link #update(String, String, int, int)}.
+     */
+    public void update(TeamId homeTeam, TeamId awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        if (pendingScores != null) {
+            conflate(runningMatches.find(homeTeam, awayTeam), homeTeamScore, awayTeamScore);
+            return;
+        }
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>(2) : null;
+        applyUpdate(runningMatches.find(homeTeam, awayTeam), homeTeamScore, awayTeamScore, changes);
+        changed(changes);
+        if (journal != null) journal(
+                new ScoreCommand.Update(homeTeam.name(), awayTeam.name(), homeTeamScore, awayTeamScore));
+    }
+
+    /**
+     * Finishes a match of teams resolved by {@link #team(String)}, see {@link #finish(String, String)}.
+     */
+    public void finish(TeamId homeTeam, TeamId awayTeam) throws MatchNotFoundException {
+        applyPendingScores();
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>(1) : null;
+        applyFinish(runningMatches.find(homeTeam, awayTeam), changes);
+        changed(changes);
+        if (journal != null) journal(new ScoreCommand.Finish(homeTeam.name(), awayTeam.name()));
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        applyPendingScores();
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>() : null;
+        // ranks of events are exact only if every update repositions its match right away
+        if (changes == null) runningMatches.beginBatch();
+        try {
+            new BatchCommands(changes).applyAll(commands, results);
+        } finally {
+            if (changes == null) runningMatches.endBatch();
+            if (CommandResult.anyApplied(results)) changed(changes);
+            if (journal != null) journal.commit();
+        }
+        return results;
+    }
+
+    // the apply* methods change the running matches and, if changes are collected,
+    // describe them as events of the next version
+
+    // starts the match as a single change, checking the start rules unless the caller has just checked them
+    private void start(String homeTeam, String awayTeam, boolean checked) {
+        applyPendingScores();
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>(1) : null;
+        if (checked) {
+            started(runningMatches.addChecked(homeTeam, awayTeam, nextMatchNo), changes);
+        } else {
+            applyStart(homeTeam, awayTeam, changes);
+        }
+        changed(changes);
+        if (journal != null) journal(new ScoreCommand.Start(homeTeam, awayTeam));
+    }
+
+    private void applyStart(String homeTeam, String awayTeam, List<ScoreboardEvent> changes) {
+        started(runningMatches.add(homeTeam, awayTeam, nextMatchNo), changes);
+    }
+
+    private void started(Match match, List<ScoreboardEvent> changes) {
+        nextMatchNo += 1;
+        if (timelineClock != null) match.setTimeline(new MatchTimeline(timelineClock.millis(),
+                match.getHomeTeamScore(), match.getAwayTeamScore(), MatchTimeline.DEFAULT_MAX_BYTES));
+        if (changes != null) changes.add(new ScoreboardEvent.MatchStarted(
+                version + 1, match.getHomeTeam(), match.getAwayTeam(), runningMatches.rankOf(match)));
+    }
+
+    private void applyUpdate(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore,
+                             List<ScoreboardEvent> changes) {
+        applyUpdate(runningMatches.find(homeTeam, awayTeam), homeTeamScore, awayTeamScore, changes);
+    }
+
+    private void applyUpdate(Match match, int homeTeamScore, int awayTeamScore, List<ScoreboardEvent> changes) {
+        applyScore(match, homeTeamScore, awayTeamScore, changes);
+        record(match, homeTeamScore, awayTeamScore);
+    }
+
+    private void record(Match match, int homeTeamScore, int awayTeamScore) {
+        MatchTimeline timeline = match.getTimeline();
+        if (timeline != null) timeline.record(timelineClock.millis(), homeTeamScore, awayTeamScore);
+    }
+
+    // moves the match to its new score, without recording it in the timeline
+    private void applyScore(Match match, int homeTeamScore, int awayTeamScore, List<ScoreboardEvent> changes) {
+        int fromRank = changes == null ? -1 : runningMatches.rankOf(match);
+        runningMatches.update(match, homeTeamScore, awayTeamScore);
+        if (changes != null) {
+            changes.add(new ScoreboardEvent.ScoreChanged(
+                    version + 1, match.getHomeTeam(), match.getAwayTeam(), homeTeamScore, awayTeamScore));
+            int toRank = runningMatches.rankOf(match);
+            if (toRank != fromRank) changes.add(new ScoreboardEvent.RankChanged(
+                    version + 1, match.getHomeTeam(), match.getAwayTeam(), fromRank, toRank));
+        }
+    }
+
+    private void applyFinish(String homeTeam, String awayTeam, List<ScoreboardEvent> changes) {
+        applyFinish(runningMatches.find(homeTeam, awayTeam), changes);
+    }
+
+    private void applyFinish(Match match, List<ScoreboardEvent> changes) {
+        int rank = changes == null ? -1 : runningMatches.rankOf(match);
+        runningMatches.finish(match);
+        if (archive != null) archive.append(
+                match.getHomeTeam(), match.getAwayTeam(), match.getHomeTeamScore(), match.getAwayTeamScore());
+        if (changes != null) changes.add(new ScoreboardEvent.MatchFinished(
+                version + 1, match.getHomeTeam(), match.getAwayTeam(), rank));
+    }
+
+    // keeps the score pending, checked against the score the match will have once its pending score is applied;
+    // the timeline records every accepted score when it's accepted, as conflation only spares moving the match
+    private void conflate(Match match, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        long now = conflationClock.millis();
+        if (!pendingScores.isEmpty()) applyPendingScores(now - conflationWindowMillis);
+        if (match == null) throw new MatchNotFoundException("Match not found");
+        if (!isNotLowerScore(match, homeTeamScore, awayTeamScore))
+            throw new LowerScoreException("Score can't be lowered");
+        record(match, homeTeamScore, awayTeamScore);
+        PendingScore pending = pendingScores.get(match);
+        if (pending == null) {
+            pendingScores.put(match, new PendingScore(homeTeamScore, awayTeamScore, now));
+        } else {
+            pending.homeTeamScore = homeTeamScore;
+            pending.awayTeamScore = awayTeamScore;
+        }
+    }
+
+    private boolean isNotLowerScore(Match match, int homeTeamScore, int awayTeamScore) {
+        PendingScore pending = pendingScores == null ? null : pendingScores.get(match);
+        if (pending == null) return match.isNotLowerScore(homeTeamScore, awayTeamScore);
+        return pending.homeTeamScore <= homeTeamScore && pending.awayTeamScore <= awayTeamScore;
+    }
+
+    private void applyPendingScores() {
+        if (pendingScores != null && !pendingScores.isEmpty()) applyPendingScores(Long.MAX_VALUE);
+    }
+
+    // applies the pending scores first updated no later than the given time, as a single change of the board
+    private void applyPendingScores(long firstUpdatedUntilMillis) {
+        List<ScoreboardEvent> changes = events.hasSubscribers() ? new ArrayList<>() : null;
+        boolean changed = false;
+        Iterator<Map.Entry<Match, PendingScore>> iterator = pendingScores.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Match, PendingScore> entry = iterator.next();
+            Match match = entry.getKey();
+            PendingScore pending = entry.getValue();
+            // entries are in the order of their first update, so the rest are more recent
+            if (pending.firstUpdateMillis > firstUpdatedUntilMillis) break;
+            iterator.remove();
+            applyScore(match, pending.homeTeamScore, pending.awayTeamScore, changes);
+            if (journal != null) journal.append(new ScoreCommand.Update(
+                    match.getHomeTeam(), match.getAwayTeam(), pending.homeTeamScore, pending.awayTeamScore));
+            changed = true;
+        }
+        if (!changed) return;
+        changed(changes);
+        if (journal != null) journal.commit();
+    }
+
+    private boolean isStale(Match match, long sequence) {
+        if (sequence > match.getSequence()) return false;
+        if (sequence == match.getSequence()) {
+            duplicateMessages += 1;
+        } else {
+            staleMessages += 1;
+        }
+        return true;
+    }
+
+    private void journal(ScoreCommand command) {
+        journal.append(command);
+        journal.commit();
+    }
+
+    private void changed(List<ScoreboardEvent> changes) {
+        version += 1;
+        snapshot = null;
+        if (changes != null) events.publish(changes);
     }
 
     List<Match> getMatches() {
-        return runningMatches.getMatches()
-                .stream()
-                .sorted(matchesComparator)
-                .toList();
-    }
-
-    private List<SummarizedMatch> summarize(List<Match> matches) {
-        return matches
-                .stream()
-                .map(match -> new SummarizedMatch(
-                        match.getHomeTeam(), match.getAwayTeam(), match.getHomeTeamScore(), match.getAwayTeamScore())
-                )
-                .toList();
+        applyPendingScores();
+        return List.copyOf(runningMatches.getRankedMatches());
+    }
+
+    // applies the commands of a batch, journaling each applied one, and describes their changes as events
+    // of the single version the batch makes if changes are collected
+    private final class BatchCommands implements ScoreCommandHandler {
+
+        private final List<ScoreboardEvent> changes;
+
+        BatchCommands(List<ScoreboardEvent> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void start(String homeTeam, String awayTeam) {
+            applyStart(homeTeam, awayTeam, changes);
+        }
+
+        @Override
+        public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+            applyUpdate(homeTeam, awayTeam, homeTeamScore, awayTeamScore, changes);
+        }
+
+        @Override
+        public void finish(String homeTeam, String awayTeam) {
+            applyFinish(homeTeam, awayTeam, changes);
+        }
+
+        @Override
+        public void applied(ScoreCommand command) {
+            if (journal != null) journal.append(command);
+        }
+
+    }
+
+    // the latest accepted score of a match, not yet applied to the order
+    private static final class PendingScore {
+
+        private int homeTeamScore;
+        private int awayTeamScore;
+        private final long firstUpdateMillis;
+
+        PendingScore(int homeTeamScore, int awayTeamScore, long firstUpdateMillis) {
+            this.homeTeamScore = homeTeamScore;
+            this.awayTeamScore = awayTeamScore;
+            this.firstUpdateMillis = firstUpdateMillis;
+        }
+
     }
 
 }
@@ -2,17 +2,44 @@ package org.footballworldcup.livescoreboard;
 
 class Match {
 
+    // team id of a match that is kept by team names only
+    static final int NO_TEAM_ID = -1;
+
     private final String homeTeam;
     private final String awayTeam;
+    private final int homeTeamId;
+    private final int awayTeamId;
     private int homeTeamScore;
     private int awayTeamScore;
     private final int orderNo;
+    // sequence number of the last sequenced message applied to the match
+    private long sequence = Long.MIN_VALUE;
+    // accepted updates of the match, null unless the board records timelines
+    private MatchTimeline timeline;
+    // neighbours in summary order, kept by RunningMatches so the order can be walked without an iterator
+    private Match previousRanked;
+    private Match nextRanked;
 
     Match(String homeTeam, String awayTeam, int orderNo) {
+        this(homeTeam, awayTeam, 0, 0, orderNo);
+    }
+
+    Match(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore, int orderNo) {
+        this(homeTeam, awayTeam, NO_TEAM_ID, NO_TEAM_ID, homeTeamScore, awayTeamScore, orderNo);
+    }
+
+    Match(TeamId homeTeam, TeamId awayTeam, int homeTeamScore, int awayTeamScore, int orderNo) {
+        this(homeTeam.name(), awayTeam.name(), homeTeam.id(), awayTeam.id(), homeTeamScore, awayTeamScore, orderNo);
+    }
+
+    private Match(String homeTeam, String awayTeam, int homeTeamId, int awayTeamId,
+                  int homeTeamScore, int awayTeamScore, int orderNo) {
         this.homeTeam = homeTeam;
         this.awayTeam = awayTeam;
-        this.homeTeamScore = 0;
-        this.awayTeamScore = 0;
+        this.homeTeamId = homeTeamId;
+        this.awayTeamId = awayTeamId;
+        this.homeTeamScore = homeTeamScore;
+        this.awayTeamScore = awayTeamScore;
         this.orderNo = orderNo;
     }
 
@@ -24,6 +51,14 @@ class Match {
         return awayTeam;
     }
 
+    int getHomeTeamId() {
+        return homeTeamId;
+    }
+
+    int getAwayTeamId() {
+        return awayTeamId;
+    }
+
     int getHomeTeamScore() {
         return homeTeamScore;
     }
@@ -44,19 +79,48 @@ class Match {
         return orderNo;
     }
 
+    long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    MatchTimeline getTimeline() {
+        return timeline;
+    }
+
+    void setTimeline(MatchTimeline timeline) {
+        this.timeline = timeline;
+    }
+
+    Match getPreviousRanked() {
+        return previousRanked;
+    }
+
+    void setPreviousRanked(Match previousRanked) {
+        this.previousRanked = previousRanked;
+    }
+
+    Match getNextRanked() {
+        return nextRanked;
+    }
+
+    void setNextRanked(Match nextRanked) {
+        this.nextRanked = nextRanked;
+    }
+
     boolean isMatchOfTeams(String homeTeam, String awayTeam) {
         return this.homeTeam.equals(homeTeam) && this.awayTeam.equals(awayTeam);
     }
 
-    boolean isNotLowerScore(int homeTeamScore, int awayTeamScore) {
-        return this.homeTeamScore <= homeTeamScore && this.awayTeamScore <= awayTeamScore;
+    boolean isMatchOfTeams(int homeTeamId, int awayTeamId) {
+        return this.homeTeamId == homeTeamId && this.awayTeamId == awayTeamId;
     }
 
-    boolean isClashingByTeamName(String homeTeam, String awayTeam) {
-        return this.homeTeam.equals(homeTeam)
-                || this.homeTeam.equals(awayTeam)
-                || this.awayTeam.equals(homeTeam)
-                || this.awayTeam.equals(awayTeam);
+    boolean isNotLowerScore(int homeTeamScore, int awayTeamScore) {
+        return this.homeTeamScore <= homeTeamScore && this.awayTeamScore <= awayTeamScore;
     }
 
     int getTotalScore() {
@@ -0,0 +1,247 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An append-only archive of finished matches, kept compressed in memory.
+ * <p>
+ * Matches are numbered in the order they were archived and stored in blocks of a fixed number of matches.
+ * Only the latest block is kept as plain bytes, full blocks are deflated. Each team has an index of the numbers
+ * of its matches and each block remembers its highest total score, so queries decompress only the blocks
+ * holding matches they return.
+ * <p>
+ * All methods are synchronized, so the archive can be queried while the board keeps archiving matches.
+ */
+public class MatchArchive {
+
+    static final int DEFAULT_BLOCK_SIZE = 256;
+
+    // orders archived matches by total score (descending), then by the order of archiving (descending)
+    private static final Comparator<ArchivedMatch> HIGHEST_SCORING_FIRST =
+            Comparator.comparingInt(ArchivedMatch::totalScore).thenComparingInt(ArchivedMatch::matchNo).reversed();
+
+    private final int blockSize;
+    private final List<SealedBlock> sealedBlocks;
+    // records of the latest block, not compressed until the block is full
+    private ByteBuffer openBlock;
+    private int openBlockMaxTotalScore;
+    private int matchCount;
+    private final Map<String, TeamMatches> matchesByTeam;
+    private final Deflater deflater;
+    private final Inflater inflater;
+    // the last decompressed block, as queries tend to ask for the same recent blocks again
+    private int cachedBlockNo;
+    private List<SummarizedMatch> cachedBlock;
+
+    MatchArchive() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    MatchArchive(int blockSize) {
+        if (blockSize < 1) throw new IllegalArgumentException("Block size must be positive");
+        this.blockSize = blockSize;
+        this.sealedBlocks = new ArrayList<>();
+        this.openBlock = ByteBuffer.allocate(4096);
+        this.matchesByTeam = new HashMap<>();
+        this.deflater = new Deflater(Deflater.BEST_SPEED);
+        this.inflater = new Inflater();
+        this.cachedBlockNo = -1;
+    }
+
+    public synchronized int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Returns the number of bytes taken by the archived matches, compressed blocks and the latest block together.
+     */
+    public synchronized long getStoredBytes() {
+        long storedBytes = openBlock.position();
+        for (SealedBlock block : sealedBlocks) {
+            storedBytes += block.deflated().length;
+        }
+        return storedBytes;
+    }
+
+    /**
+     * Returns all archived matches of the team, as home or away team, in the order they were archived.
+     */
+    public synchronized List<SummarizedMatch> getResults(String team) {
+        TeamMatches teamMatches = matchesByTeam.get(team);
+        if (teamMatches == null) return List.of();
+        List<SummarizedMatch> results = new ArrayList<>(teamMatches.size);
+        int blockNo = -1;
+        List<SummarizedMatch> block = null;
+        for (int i = 0; i < teamMatches.size; i++) {
+            int matchNo = teamMatches.matchNos[i];
+            // match numbers ascend, so each block is read once
+            if (matchNo / blockSize != blockNo) {
+                blockNo = matchNo / blockSize;
+                block = readBlock(blockNo);
+            }
+            results.add(block.get(matchNo % blockSize));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Returns at most limit archived matches with the highest total scores, ordered by total score (descending),
+     * then by the order of archiving (descending).
+     */
+    public synchronized List<SummarizedMatch> getHighestScoring(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit can't be negative");
+        if (limit == 0) return List.of();
+        int blockCount = blockCount();
+        Integer[] blocksByMaxTotalScore = new Integer[blockCount];
+        for (int blockNo = 0; blockNo < blockCount; blockNo++) {
+            blocksByMaxTotalScore[blockNo] = blockNo;
+        }
+        Arrays.sort(blocksByMaxTotalScore,
+                Comparator.comparingInt(this::maxTotalScoreOf).thenComparingInt(blockNo -> blockNo).reversed());
+        // holds the best matches found so far, with the worst of them on top
+        PriorityQueue<ArchivedMatch> best = new PriorityQueue<>(limit + 1, HIGHEST_SCORING_FIRST.reversed());
+        for (int blockNo : blocksByMaxTotalScore) {
+            // blocks come in descending order of their highest score, so no later block can improve the result
+            if (best.size() == limit && maxTotalScoreOf(blockNo) < best.peek().totalScore()) break;
+            List<SummarizedMatch> block = readBlock(blockNo);
+            for (int i = 0; i < block.size(); i++) {
+                best.add(new ArchivedMatch(blockNo * blockSize + i, block.get(i)));
+                if (best.size() > limit) best.poll();
+            }
+        }
+        List<SummarizedMatch> highestScoring = new ArrayList<>(best.size());
+        best.stream().sorted(HIGHEST_SCORING_FIRST).forEach(match -> highestScoring.add(match.match()));
+        return Collections.unmodifiableList(highestScoring);
+    }
+
+    // called by the board with a match it has just finished
+    synchronized void append(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        byte[] homeTeamBytes = homeTeam.getBytes(StandardCharsets.UTF_8);
+        byte[] awayTeamBytes = awayTeam.getBytes(StandardCharsets.UTF_8);
+        // two name lengths and two scores take at most 5 bytes each
+        ensureRemaining(homeTeamBytes.length + awayTeamBytes.length + 4 * 5);
+        ScoreCommandCodec.putVarint(openBlock, homeTeamBytes.length);
+        openBlock.put(homeTeamBytes);
+        ScoreCommandCodec.putVarint(openBlock, awayTeamBytes.length);
+        openBlock.put(awayTeamBytes);
+        ScoreCommandCodec.putVarint(openBlock, homeTeamScore);
+        ScoreCommandCodec.putVarint(openBlock, awayTeamScore);
+        openBlockMaxTotalScore = Math.max(openBlockMaxTotalScore, homeTeamScore + awayTeamScore);
+        matchesByTeam.computeIfAbsent(homeTeam, team -> new TeamMatches()).add(matchCount);
+        matchesByTeam.computeIfAbsent(awayTeam, team -> new TeamMatches()).add(matchCount);
+        matchCount += 1;
+        if (matchCount % blockSize == 0) seal();
+    }
+
+    private void seal() {
+        deflater.reset();
+        deflater.setInput(openBlock.flip());
+        deflater.finish();
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(openBlock.limit() / 2);
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            deflated.write(chunk, 0, deflater.deflate(chunk));
+        }
+        sealedBlocks.add(new SealedBlock(deflated.toByteArray(), openBlock.limit(), openBlockMaxTotalScore));
+        openBlock.clear();
+        openBlockMaxTotalScore = 0;
+    }
+
+    private List<SummarizedMatch> readBlock(int blockNo) {
+        if (blockNo == sealedBlocks.size()) return decode(openBlock.duplicate().flip(), matchCount % blockSize);
+        if (blockNo != cachedBlockNo) {
+            cachedBlock = decode(inflate(sealedBlocks.get(blockNo)), blockSize);
+            cachedBlockNo = blockNo;
+        }
+        return cachedBlock;
+    }
+
+    private ByteBuffer inflate(SealedBlock block) {
+        byte[] records = new byte[block.length()];
+        inflater.reset();
+        inflater.setInput(block.deflated());
+        try {
+            int inflated = 0;
+            while (inflated < records.length) {
+                int read = inflater.inflate(records, inflated, records.length - inflated);
+                if (read == 0 && (inflater.finished() || inflater.needsInput()))
+                    throw new IllegalStateException("Archive block is truncated");
+                inflated += read;
+            }
+        } catch (DataFormatException exception) {
+            throw new IllegalStateException("Archive block is corrupted", exception);
+        }
+        return ByteBuffer.wrap(records);
+    }
+
+    private static List<SummarizedMatch> decode(ByteBuffer records, int count) {
+        List<SummarizedMatch> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String homeTeam = getString(records);
+            String awayTeam = getString(records);
+            int homeTeamScore = ScoreCommandCodec.getVarint(records);
+            int awayTeamScore = ScoreCommandCodec.getVarint(records);
+            matches.add(new SummarizedMatch(homeTeam, awayTeam, homeTeamScore, awayTeamScore));
+        }
+        return matches;
+    }
+
+    private static String getString(ByteBuffer records) {
+        int length = ScoreCommandCodec.getVarint(records);
+        String value = new String(records.array(), records.position(), length, StandardCharsets.UTF_8);
+        records.position(records.position() + length);
+        return value;
+    }
+
+    private int blockCount() {
+        return matchCount % blockSize == 0 ? sealedBlocks.size() : sealedBlocks.size() + 1;
+    }
+
+    private int maxTotalScoreOf(int blockNo) {
+        return blockNo == sealedBlocks.size() ? openBlockMaxTotalScore : sealedBlocks.get(blockNo).maxTotalScore();
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (openBlock.remaining() >= bytes) return;
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(openBlock.capacity() * 2, openBlock.position() + bytes));
+        openBlock = grown.put(openBlock.flip());
+    }
+
+    private record SealedBlock(byte[] deflated, int length, int maxTotalScore) {
+    }
+
+    private record ArchivedMatch(int matchNo, SummarizedMatch match) {
+
+        int totalScore() {
+            return match.homeTeamScore() + match.awayTeamScore();
+        }
+
+    }
+
+    // numbers of the matches of a team, in ascending order
+    private static final class TeamMatches {
+
+        private int[] matchNos = new int[4];
+        private int size;
+
+        void add(int matchNo) {
+            if (size == matchNos.length) matchNos = Arrays.copyOf(matchNos, size * 2);
+            matchNos[size++] = matchNo;
+        }
+
+    }
+
+}
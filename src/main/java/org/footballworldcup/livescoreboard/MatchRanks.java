@@ -0,0 +1,127 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+// an order-statistic tree of matches: a treap whose nodes count the matches below them, so the matches ordered
+// before any match are counted in logarithmic time, where a TreeSet can only count them one by one
+class MatchRanks {
+
+    private final Comparator<? super Match> comparator;
+    // priorities keep the tree balanced whatever order the matches are added in
+    private final SplittableRandom random;
+    private Node root;
+
+    MatchRanks(Comparator<? super Match> comparator) {
+        this.comparator = comparator;
+        this.random = new SplittableRandom();
+    }
+
+    void add(Match match) {
+        root = add(root, new Node(match, random.nextInt()));
+    }
+
+    // the match must still have the sort key it was added with
+    void remove(Match match) {
+        root = remove(root, match);
+    }
+
+    // number of matches ordered before the match, whether the match itself is held or not
+    int countBefore(Match match) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (comparator.compare(node.match, match) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private Node add(Node node, Node added) {
+        if (node == null) return added;
+        node.size += 1;
+        if (comparator.compare(added.match, node.match) < 0) {
+            node.left = add(node.left, added);
+            if (node.left.priority > node.priority) return rotateRight(node);
+        } else {
+            node.right = add(node.right, added);
+            if (node.right.priority > node.priority) return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node remove(Node node, Match match) {
+        if (node == null) return null;
+        int comparison = comparator.compare(match, node.match);
+        if (comparison == 0) return merge(node.left, node.right);
+        if (comparison < 0) {
+            node.left = remove(node.left, match);
+        } else {
+            node.right = remove(node.right, match);
+        }
+        node.resize();
+        return node;
+    }
+
+    // every match of the left tree is ordered before every match of the right one
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.resize();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.resize();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.resize();
+        left.resize();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.resize();
+        right.resize();
+        return right;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final Match match;
+        private final int priority;
+        private Node left;
+        private Node right;
+        // number of matches in the subtree of this node, itself included
+        private int size;
+
+        Node(Match match, int priority) {
+            this.match = match;
+            this.priority = priority;
+            this.size = 1;
+        }
+
+        void resize() {
+            size = size(left) + size(right) + 1;
+        }
+
+    }
+
+}
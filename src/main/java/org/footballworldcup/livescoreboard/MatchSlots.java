@@ -0,0 +1,257 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// running matches stored column by column in parallel int arrays, one slot per match, with no object per match;
+// slots of finished matches are recycled, and the summary order is kept by a treap linking slots by index
+class MatchSlots {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TeamRegistry teams;
+    // running match of each team id, or NONE
+    private int[] slotByTeamId;
+
+    private int[] homeTeamIds;
+    private int[] awayTeamIds;
+    private int[] homeTeamScores;
+    private int[] awayTeamScores;
+    private int[] orderNos;
+    // treap links and heap priorities, a slot precedes its right subtree and follows its left subtree
+    private int[] left;
+    private int[] right;
+    private int[] priorities;
+    private int root;
+    private int size;
+
+    // slots of finished matches, reused before the arrays grow
+    private int[] freeSlots;
+    private int freeSlotCount;
+    // slots ever taken, all slots up to this one are either running or free
+    private int usedSlots;
+    private int nextPriority;
+
+    MatchSlots() {
+        this.teams = new TeamRegistry();
+        this.slotByTeamId = new int[INITIAL_CAPACITY];
+        Arrays.fill(slotByTeamId, NONE);
+        this.homeTeamIds = new int[INITIAL_CAPACITY];
+        this.awayTeamIds = new int[INITIAL_CAPACITY];
+        this.homeTeamScores = new int[INITIAL_CAPACITY];
+        this.awayTeamScores = new int[INITIAL_CAPACITY];
+        this.orderNos = new int[INITIAL_CAPACITY];
+        this.left = new int[INITIAL_CAPACITY];
+        this.right = new int[INITIAL_CAPACITY];
+        this.priorities = new int[INITIAL_CAPACITY];
+        this.freeSlots = new int[INITIAL_CAPACITY];
+        this.root = NONE;
+        this.nextPriority = 0x9E3779B9;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // number of slots allocated, running or free
+    int capacity() {
+        return orderNos.length;
+    }
+
+    void add(String homeTeam, String awayTeam, int orderNo) throws ClashingTeamsException, BlankTeamNameException {
+        StartRule.require(homeTeam, awayTeam, this::isPlaying);
+        TeamId homeTeamId = register(homeTeam);
+        TeamId awayTeamId = register(awayTeam);
+
+        int slot = allocate();
+        homeTeamIds[slot] = homeTeamId.id();
+        awayTeamIds[slot] = awayTeamId.id();
+        homeTeamScores[slot] = 0;
+        awayTeamScores[slot] = 0;
+        orderNos[slot] = orderNo;
+        slotByTeamId[homeTeamId.id()] = slot;
+        slotByTeamId[awayTeamId.id()] = slot;
+        link(slot);
+        size += 1;
+    }
+
+    void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        int slot = find(homeTeam, awayTeam);
+        if (homeTeamScore < homeTeamScores[slot] || awayTeamScore < awayTeamScores[slot])
+            throw new LowerScoreException("Score can't be lowered");
+        if (homeTeamScore + awayTeamScore == totalScore(slot)) {
+            homeTeamScores[slot] = homeTeamScore;
+            awayTeamScores[slot] = awayTeamScore;
+            return;
+        }
+        // the slot has to leave the treap before its sort key changes
+        root = remove(root, slot);
+        homeTeamScores[slot] = homeTeamScore;
+        awayTeamScores[slot] = awayTeamScore;
+        link(slot);
+    }
+
+    void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        int slot = find(homeTeam, awayTeam);
+        root = remove(root, slot);
+        size -= 1;
+        slotByTeamId[homeTeamIds[slot]] = NONE;
+        slotByTeamId[awayTeamIds[slot]] = NONE;
+        if (freeSlotCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        freeSlots[freeSlotCount] = slot;
+        freeSlotCount += 1;
+    }
+
+    // summarizes at most limit matches following the first offset matches, walking only as far as needed
+    List<SummarizedMatch> summarize(int offset, int limit) {
+        List<SummarizedMatch> summary = new ArrayList<>(Math.min(limit, Math.max(size - offset, 0)));
+        // in-order walk with an explicit stack of slots, the treap is only expected to be logarithmically deep
+        int[] stack = new int[64];
+        int depth = 0;
+        int skipped = 0;
+        int slot = root;
+        while ((slot != NONE || depth > 0) && summary.size() < limit) {
+            while (slot != NONE) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = slot;
+                slot = left[slot];
+            }
+            slot = stack[--depth];
+            if (skipped < offset) {
+                skipped += 1;
+            } else {
+                summary.add(new SummarizedMatch(teams.get(homeTeamIds[slot]).name(),
+                        teams.get(awayTeamIds[slot]).name(), homeTeamScores[slot], awayTeamScores[slot]));
+            }
+            slot = right[slot];
+        }
+        return Collections.unmodifiableList(summary);
+    }
+
+    private int find(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        TeamId homeTeamId = teams.find(homeTeam);
+        TeamId awayTeamId = teams.find(awayTeam);
+        int slot = homeTeamId == null || awayTeamId == null ? NONE : slotByTeamId[homeTeamId.id()];
+        if (slot == NONE || homeTeamIds[slot] != homeTeamId.id() || awayTeamIds[slot] != awayTeamId.id())
+            throw new MatchNotFoundException("Match not found");
+        return slot;
+    }
+
+    private boolean isPlaying(String team) {
+        TeamId teamId = teams.find(team);
+        return teamId != null && slotByTeamId[teamId.id()] != NONE;
+    }
+
+    private TeamId register(String name) {
+        TeamId team = teams.register(name);
+        if (team.id() == slotByTeamId.length) {
+            int capacity = slotByTeamId.length;
+            slotByTeamId = Arrays.copyOf(slotByTeamId, capacity * 2);
+            Arrays.fill(slotByTeamId, capacity, capacity * 2, NONE);
+        }
+        return team;
+    }
+
+    private int allocate() {
+        if (freeSlotCount > 0) {
+            freeSlotCount -= 1;
+            return freeSlots[freeSlotCount];
+        }
+        if (usedSlots == orderNos.length) grow();
+        int slot = usedSlots;
+        usedSlots += 1;
+        // xorshift, priorities only have to look random to keep the treap balanced
+        nextPriority ^= nextPriority << 13;
+        nextPriority ^= nextPriority >>> 17;
+        nextPriority ^= nextPriority << 5;
+        priorities[slot] = nextPriority;
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = orderNos.length * 2;
+        homeTeamIds = Arrays.copyOf(homeTeamIds, capacity);
+        awayTeamIds = Arrays.copyOf(awayTeamIds, capacity);
+        homeTeamScores = Arrays.copyOf(homeTeamScores, capacity);
+        awayTeamScores = Arrays.copyOf(awayTeamScores, capacity);
+        orderNos = Arrays.copyOf(orderNos, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+
+    private void link(int slot) {
+        left[slot] = NONE;
+        right[slot] = NONE;
+        root = insert(root, slot);
+    }
+
+    private int totalScore(int slot) {
+        return homeTeamScores[slot] + awayTeamScores[slot];
+    }
+
+    // summary order: total score (descending), then order of addition (descending)
+    private boolean precedes(int slot, int other) {
+        int totalScore = totalScore(slot);
+        int otherTotalScore = totalScore(other);
+        return totalScore != otherTotalScore ? totalScore > otherTotalScore : orderNos[slot] > orderNos[other];
+    }
+
+    private int insert(int subtree, int slot) {
+        if (subtree == NONE) return slot;
+        if (precedes(slot, subtree)) {
+            left[subtree] = insert(left[subtree], slot);
+            if (priorities[left[subtree]] > priorities[subtree]) return rotateRight(subtree);
+        } else {
+            right[subtree] = insert(right[subtree], slot);
+            if (priorities[right[subtree]] > priorities[subtree]) return rotateLeft(subtree);
+        }
+        return subtree;
+    }
+
+    private int remove(int subtree, int slot) {
+        if (subtree == slot) return merge(left[slot], right[slot]);
+        if (precedes(slot, subtree)) {
+            left[subtree] = remove(left[subtree], slot);
+        } else {
+            right[subtree] = remove(right[subtree], slot);
+        }
+        return subtree;
+    }
+
+    // joins two treaps, all slots of the first preceding all slots of the second
+    private int merge(int first, int second) {
+        if (first == NONE) return second;
+        if (second == NONE) return first;
+        if (priorities[first] > priorities[second]) {
+            right[first] = merge(right[first], second);
+            return first;
+        }
+        left[second] = merge(first, left[second]);
+        return second;
+    }
+
+    private int rotateRight(int slot) {
+        int pivot = left[slot];
+        left[slot] = right[pivot];
+        right[pivot] = slot;
+        return pivot;
+    }
+
+    private int rotateLeft(int slot) {
+        int pivot = right[slot];
+        right[slot] = left[pivot];
+        left[pivot] = slot;
+        return pivot;
+    }
+
+}
@@ -0,0 +1,209 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The accepted score updates of a running match, each with the time it was applied.
+ * <p>
+ * Each update is stored as a delta from the previous one: a varint of the milliseconds since the previous update,
+ * shifted left by two bits to make room for the kind of change. A goal of one side, by far the most common
+ * update, takes nothing more; any other change adds the varint deltas of both scores.
+ * <p>
+ * A timeline never takes more than its byte limit: when full, the oldest half of its updates is dropped and
+ * the score they led to becomes the new starting point. Timelines are kept by a {@link LiveScoreboard},
+ * so they must be read on the thread using the board.
+ */
+public class MatchTimeline {
+
+    static final int DEFAULT_MAX_BYTES = 1024;
+
+    // kinds of a change, kept in the two lowest bits of the first varint
+    private static final int HOME_GOAL = 0;
+    private static final int AWAY_GOAL = 1;
+    private static final int OTHER_CHANGE = 2;
+    // longer pauses are recorded as this long, so the first varint takes at most 5 bytes
+    private static final long MAX_TIME_DELTA = (1L << 33) - 1;
+    // the first varint and two score deltas of up to 5 bytes each
+    private static final int MAX_CHANGE_BYTES = 3 * 5;
+
+    private final int maxBytes;
+    private byte[] changes;
+    private int length;
+    private int changeCount;
+    private long droppedChanges;
+    // the state before the first stored change
+    private long startMillis;
+    private int startHomeTeamScore;
+    private int startAwayTeamScore;
+    // the state after the last stored change, which the next change is a delta from
+    private long lastMillis;
+    private int lastHomeTeamScore;
+    private int lastAwayTeamScore;
+
+    MatchTimeline(long startMillis, int homeTeamScore, int awayTeamScore, int maxBytes) {
+        if (maxBytes < 2 * MAX_CHANGE_BYTES)
+            throw new IllegalArgumentException("Timeline must hold at least two changes");
+        this.maxBytes = maxBytes;
+        this.changes = new byte[16];
+        this.startMillis = startMillis;
+        this.startHomeTeamScore = homeTeamScore;
+        this.startAwayTeamScore = awayTeamScore;
+        this.lastMillis = startMillis;
+        this.lastHomeTeamScore = homeTeamScore;
+        this.lastAwayTeamScore = awayTeamScore;
+    }
+
+    /**
+     * Returns the number of changes stored, not counting the dropped ones.
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Returns the number of the oldest changes dropped to keep the timeline within its byte limit.
+     */
+    public long getDroppedChanges() {
+        return droppedChanges;
+    }
+
+    /**
+     * Returns the number of bytes taken by the stored changes.
+     */
+    public int getStoredBytes() {
+        return length;
+    }
+
+    /**
+     * Returns the time and score the stored changes start from, the start of the match unless changes were dropped.
+     */
+    public ScoreChange getStart() {
+        return new ScoreChange(startMillis, startHomeTeamScore, startAwayTeamScore);
+    }
+
+    /**
+     * Returns all stored changes, oldest first.
+     */
+    public List<ScoreChange> getChanges() {
+        List<ScoreChange> scoreChanges = new ArrayList<>(changeCount);
+        replay((timeMillis, homeTeamScore, awayTeamScore) ->
+                scoreChanges.add(new ScoreChange(timeMillis, homeTeamScore, awayTeamScore)));
+        return Collections.unmodifiableList(scoreChanges);
+    }
+
+    /**
+     * Passes all stored changes to the visitor, oldest first.
+     */
+    public void replay(ScoreChangeVisitor visitor) {
+        Cursor cursor = new Cursor();
+        while (cursor.next()) {
+            visitor.visit(cursor.timeMillis, cursor.homeTeamScore, cursor.awayTeamScore);
+        }
+    }
+
+    // called by the board with a score it has just accepted, which is never lower than the last one
+    void record(long timeMillis, int homeTeamScore, int awayTeamScore) {
+        int homeTeamDelta = homeTeamScore - lastHomeTeamScore;
+        int awayTeamDelta = awayTeamScore - lastAwayTeamScore;
+        // a clock going back is recorded as no time passing, so deltas stay unsigned
+        long timeDelta = Math.clamp(timeMillis - lastMillis, 0, MAX_TIME_DELTA);
+        if (length + MAX_CHANGE_BYTES > maxBytes) dropOldestHalf();
+        if (length + MAX_CHANGE_BYTES > changes.length) {
+            int capacity = Math.max(changes.length * 2, length + MAX_CHANGE_BYTES);
+            changes = Arrays.copyOf(changes, Math.min(maxBytes, capacity));
+        }
+        if (homeTeamDelta == 1 && awayTeamDelta == 0) {
+            putVarint(timeDelta << 2 | HOME_GOAL);
+        } else if (homeTeamDelta == 0 && awayTeamDelta == 1) {
+            putVarint(timeDelta << 2 | AWAY_GOAL);
+        } else {
+            putVarint(timeDelta << 2 | OTHER_CHANGE);
+            putVarint(homeTeamDelta);
+            putVarint(awayTeamDelta);
+        }
+        changeCount += 1;
+        lastMillis += timeDelta;
+        lastHomeTeamScore = homeTeamScore;
+        lastAwayTeamScore = awayTeamScore;
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            changes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        changes[length++] = (byte) value;
+    }
+
+    // moves the start past the oldest changes taking half of the bytes, then shifts the rest to the front
+    private void dropOldestHalf() {
+        Cursor cursor = new Cursor();
+        int dropped = 0;
+        while (cursor.position < length / 2 && cursor.next()) {
+            dropped += 1;
+        }
+        System.arraycopy(changes, cursor.position, changes, 0, length - cursor.position);
+        length -= cursor.position;
+        changeCount -= dropped;
+        droppedChanges += dropped;
+        startMillis = cursor.timeMillis;
+        startHomeTeamScore = cursor.homeTeamScore;
+        startAwayTeamScore = cursor.awayTeamScore;
+    }
+
+    // decodes the stored changes one by one, keeping the state after the last decoded change
+    private final class Cursor {
+
+        private int position;
+        private long timeMillis = startMillis;
+        private int homeTeamScore = startHomeTeamScore;
+        private int awayTeamScore = startAwayTeamScore;
+
+        boolean next() {
+            if (position == length) return false;
+            long header = getVarint();
+            timeMillis += header >>> 2;
+            switch ((int) (header & 3)) {
+                case HOME_GOAL -> homeTeamScore += 1;
+                case AWAY_GOAL -> awayTeamScore += 1;
+                default -> {
+                    homeTeamScore += (int) getVarint();
+                    awayTeamScore += (int) getVarint();
+                }
+            }
+            return true;
+        }
+
+        private long getVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = changes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+        }
+
+    }
+
+    /**
+     * Receives the changes of a timeline one by one, without creating an object per change.
+     */
+    @FunctionalInterface
+    public interface ScoreChangeVisitor {
+
+        void visit(long timeMillis, int homeTeamScore, int awayTeamScore);
+
+    }
+
+    /**
+     * A score of the match and the time it was set at.
+     *
+     * @param timeMillis the time of the update, in milliseconds since the epoch
+     */
+    public record ScoreChange(long timeMillis, int homeTeamScore, int awayTeamScore) {
+    }
+
+}
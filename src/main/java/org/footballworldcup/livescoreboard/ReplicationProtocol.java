@@ -0,0 +1,74 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// frames streamed from a leader to a follower: one snapshot frame holding a checkpoint image, followed by
+// batch frames holding the commands applied since; every frame is a type byte, the log position reached
+// after it, the number of commands, and the length-prefixed payload
+final class ReplicationProtocol {
+
+    static final byte SNAPSHOT = 1;
+    static final byte BATCH = 2;
+    private static final int FRAME_HEADER_SIZE = 1 + 8 + 4 + 4;
+
+    private ReplicationProtocol() {
+    }
+
+    static byte[] snapshotFrame(long position, ByteBuffer checkpoint) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + checkpoint.remaining());
+        frame.put(SNAPSHOT).putLong(position).putInt(0).putInt(checkpoint.remaining()).put(checkpoint);
+        return frame.array();
+    }
+
+    static byte[] batchFrame(long position, List<ScoreCommand> commands) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + commands.size() * 64);
+        while (true) {
+            try {
+                frame.put(BATCH).putLong(position).putInt(commands.size()).putInt(0);
+                for (ScoreCommand command : commands) {
+                    ScoreCommandCodec.encode(command, frame);
+                }
+                frame.putInt(FRAME_HEADER_SIZE - 4, frame.position() - FRAME_HEADER_SIZE);
+                return Arrays.copyOf(frame.array(), frame.position());
+            } catch (BufferOverflowException exception) {
+                frame = ByteBuffer.allocate(frame.capacity() * 2);
+            }
+        }
+    }
+
+    // reads a whole frame, returning its type, position, command count and payload
+    static Frame read(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        if (type != SNAPSHOT && type != BATCH) throw new IOException("Unknown frame type " + type);
+        long position = input.readLong();
+        int commandCount = input.readInt();
+        int length = input.readInt();
+        if (length < 0) throw new IOException("Corrupted frame");
+        byte[] payload = new byte[length];
+        input.readFully(payload);
+        return new Frame(type, position, commandCount, ByteBuffer.wrap(payload));
+    }
+
+    record Frame(byte type, long position, int commandCount, ByteBuffer payload) {
+
+        List<ScoreCommand> commands() throws IOException {
+            List<ScoreCommand> commands = new ArrayList<>(commandCount);
+            try {
+                for (int i = 0; i < commandCount; i++) {
+                    commands.add(ScoreCommandCodec.decode(payload));
+                }
+            } catch (IllegalArgumentException exception) {
+                throw new IOException("Corrupted frame", exception);
+            }
+            return commands;
+        }
+
+    }
+
+}
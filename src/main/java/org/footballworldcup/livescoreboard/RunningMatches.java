@@ -5,61 +5,289 @@ import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
 import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
 import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 class RunningMatches {
 
-    private final List<Match> matches;
+    private final TeamRegistry teams;
+    // a team can play only one match at a time, so each team id points to at most one running match
+    private Match[] matchesByTeamId;
+    // running matches kept in summary order, a match is repositioned only when its total score changes
+    private final NavigableSet<Match> rankedMatches;
+    // the same order as a list linked through the matches, walked without allocating an iterator
+    private Match firstRanked;
+    // matches updated during a batch, taken out of the order until the whole batch is applied
+    private Set<Match> detachedMatches;
+    // counts the matches ahead of a match for rankOf, built on its first call, as only boards publishing
+    // events ask for ranks and the others shouldn't pay for keeping it
+    private MatchRanks ranks;
 
     RunningMatches() {
-        this.matches = new ArrayList<>();
+        this.teams = new TeamRegistry();
+        this.matchesByTeamId = new Match[16];
+        this.rankedMatches = new TreeSet<>(new MatchesComparator());
     }
 
-    List<Match> getMatches() {
-        return matches;
+    // read-only view, ordered by total score (descending), then by order of addition (descending)
+    NavigableSet<Match> getRankedMatches() {
+        return Collections.unmodifiableNavigableSet(rankedMatches);
     }
 
-    void add(String homeTeam, String awayTeam, int orderNo) throws ClashingTeamsException, BlankTeamNameException {
-        if (homeTeam == null || homeTeam.isBlank()) throw new BlankTeamNameException("Home team name is empty");
-        if (awayTeam == null || awayTeam.isBlank()) throw new BlankTeamNameException("Away team name is empty");
-        if (homeTeam.equals(awayTeam)) throw new ClashingTeamsException("A team can't play a match against itself");
-        if (!areTeamsFreeToPlay(homeTeam, awayTeam)) throw new ClashingTeamsException("Team already playing");
-        matches.add(new Match(homeTeam, awayTeam, orderNo));
+    TeamId team(String name) throws BlankTeamNameException {
+        if (name == null || name.isBlank()) throw new BlankTeamNameException("Team name is empty");
+        return register(name);
     }
 
-    void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
-            throws LowerScoreException, MatchNotFoundException {
-        for (Match match : matches) {
-            if (match.isMatchOfTeams(homeTeam, awayTeam)) {
-                if (!match.isNotLowerScore(homeTeamScore, awayTeamScore))
-                    throw new LowerScoreException("Score can't be lowered");
-                match.setHomeTeamScore(homeTeamScore);
-                match.setAwayTeamScore(awayTeamScore);
-                return;
+    // null if either team was never registered, so there can't be a running match of the teams
+    Match find(String homeTeam, String awayTeam) {
+        TeamId homeTeamId = teams.find(homeTeam);
+        TeamId awayTeamId = teams.find(awayTeam);
+        return homeTeamId == null || awayTeamId == null ? null : find(homeTeamId, awayTeamId);
+    }
+
+    Match find(TeamId homeTeam, TeamId awayTeam) {
+        if (!teams.isRegistered(homeTeam) || !teams.isRegistered(awayTeam)) return null;
+        Match match = matchesByTeamId[homeTeam.id()];
+        return match != null && match.isMatchOfTeams(homeTeam.id(), awayTeam.id()) ? match : null;
+    }
+
+    // position of the match in summary order, or -1 if there is no such running match
+    int rankOf(Match match) {
+        if (match == null) return -1;
+        if (ranks == null) {
+            ranks = new MatchRanks(rankedMatches.comparator());
+            for (Match ranked : rankedMatches) {
+                ranks.add(ranked);
             }
         }
-        throw new MatchNotFoundException("Match not found");
+        return ranks.countBefore(match);
     }
 
-    void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
-        ListIterator<Match> matchIter = matches.listIterator();
-        while(matchIter.hasNext()){
-            Match match = matchIter.next();
-            if(match.isMatchOfTeams(homeTeam, awayTeam)){
-                matchIter.remove();
-                return;
-            }
+    // follows the links between ranked matches: an iterator of the set would be allocated on every walk,
+    // and stepping with first() and higher() would search the set again on every step
+    void forEachRanked(SummaryVisitor visitor) {
+        int rank = 0;
+        for (Match match = firstRanked; match != null; match = match.getNextRanked()) {
+            visitor.visit(rank++, teams.get(match.getHomeTeamId()), teams.get(match.getAwayTeamId()),
+                    match.getHomeTeamScore(), match.getAwayTeamScore());
         }
-        throw new MatchNotFoundException("Match not found");
     }
 
-    private boolean areTeamsFreeToPlay(String homeTeam, String awayTeam) {
-        for (Match match : matches) {
-            if (match.isClashingByTeamName(homeTeam, awayTeam)) return false;
+    // within a batch, each updated match is repositioned once, when the batch ends
+    void beginBatch() {
+        detachedMatches = new HashSet<>();
+    }
+
+    void endBatch() {
+        for (Match match : detachedMatches) {
+            insertRanked(match);
         }
-        return true;
+        detachedMatches = null;
+    }
+
+    // the outcome add would have, without changing anything
+    ScoreOutcome checkAdd(String homeTeam, String awayTeam) {
+        StartRule broken = StartRule.check(homeTeam, awayTeam, this::isPlaying);
+        return broken == null ? ScoreOutcome.OK : broken.outcome();
+    }
+
+    Match add(String homeTeam, String awayTeam, int orderNo) throws ClashingTeamsException, BlankTeamNameException {
+        StartRule.require(homeTeam, awayTeam, this::isPlaying);
+        return add(register(homeTeam), register(awayTeam), orderNo);
+    }
+
+    // adds a match checkAdd has just found OK, so the names aren't looked up and checked a second time
+    Match addChecked(String homeTeam, String awayTeam, int orderNo) {
+        return add(register(homeTeam), register(awayTeam), orderNo);
+    }
+
+    Match add(TeamId homeTeam, TeamId awayTeam, int orderNo) throws ClashingTeamsException {
+        if (!teams.isRegistered(homeTeam) || !teams.isRegistered(awayTeam))
+            throw new IllegalArgumentException("Team not registered on this board");
+        // teams given by ids are checked by ids, without hashing their names
+        if (homeTeam.id() == awayTeam.id()) throw StartRule.DIFFERENT_TEAMS.exception();
+        if (!areTeamsFreeToPlay(homeTeam.id(), awayTeam.id())) throw StartRule.TEAMS_FREE.exception();
+        Match match = new Match(homeTeam, awayTeam, 0, 0, orderNo);
+        matchesByTeamId[homeTeam.id()] = match;
+        matchesByTeamId[awayTeam.id()] = match;
+        insertRanked(match);
+        return match;
+    }
+
+    // puts back matches saved in a checkpoint, the checkpoint is trusted to hold no clashing matches
+    void restore(List<Match> rankedMatches) {
+        List<Match> restoredMatches = new ArrayList<>(rankedMatches.size());
+        for (Match match : rankedMatches) {
+            TeamId homeTeam = register(match.getHomeTeam());
+            TeamId awayTeam = register(match.getAwayTeam());
+            Match restoredMatch = new Match(homeTeam, awayTeam,
+                    match.getHomeTeamScore(), match.getAwayTeamScore(), match.getOrderNo());
+            matchesByTeamId[homeTeam.id()] = restoredMatch;
+            matchesByTeamId[awayTeam.id()] = restoredMatch;
+            restoredMatches.add(restoredMatch);
+        }
+        // an empty TreeSet is built in linear time from a sorted set with the same comparator
+        this.rankedMatches.addAll(new SortedMatches(restoredMatches, this.rankedMatches.comparator()));
+        // rebuilt with the restored matches on the next rankOf
+        ranks = null;
+        Match previous = null;
+        for (Match match : restoredMatches) {
+            link(previous, match);
+            previous = match;
+        }
+    }
+
+    // the match is one found by the board, null if there is no such running match
+    void update(Match match, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        if (match == null) throw new MatchNotFoundException("Match not found");
+        if (!match.isNotLowerScore(homeTeamScore, awayTeamScore))
+            throw new LowerScoreException("Score can't be lowered");
+        if (match.getTotalScore() == homeTeamScore + awayTeamScore) {
+            match.setHomeTeamScore(homeTeamScore);
+            match.setAwayTeamScore(awayTeamScore);
+            return;
+        }
+        // the match has to leave the ordered set before its sort key changes
+        if (detachedMatches == null) {
+            removeRanked(match);
+            match.setHomeTeamScore(homeTeamScore);
+            match.setAwayTeamScore(awayTeamScore);
+            insertRanked(match);
+        } else {
+            if (detachedMatches.add(match)) removeRanked(match);
+            match.setHomeTeamScore(homeTeamScore);
+            match.setAwayTeamScore(awayTeamScore);
+        }
+    }
+
+    void finish(Match match) throws MatchNotFoundException {
+        if (match == null) throw new MatchNotFoundException("Match not found");
+        matchesByTeamId[match.getHomeTeamId()] = null;
+        matchesByTeamId[match.getAwayTeamId()] = null;
+        if (detachedMatches == null || !detachedMatches.remove(match)) removeRanked(match);
+    }
+
+    private void insertRanked(Match match) {
+        rankedMatches.add(match);
+        link(rankedMatches.lower(match), match);
+        if (ranks != null) ranks.add(match);
+    }
+
+    private void removeRanked(Match match) {
+        rankedMatches.remove(match);
+        if (ranks != null) ranks.remove(match);
+        Match previous = match.getPreviousRanked();
+        Match next = match.getNextRanked();
+        if (previous == null) firstRanked = next;
+        else previous.setNextRanked(next);
+        if (next != null) next.setPreviousRanked(previous);
+        match.setPreviousRanked(null);
+        match.setNextRanked(null);
+    }
+
+    // links the match right after the previous one, or first if there is none
+    private void link(Match previous, Match match) {
+        Match next = previous == null ? firstRanked : previous.getNextRanked();
+        match.setPreviousRanked(previous);
+        match.setNextRanked(next);
+        if (previous == null) firstRanked = match;
+        else previous.setNextRanked(match);
+        if (next != null) next.setPreviousRanked(match);
+    }
+
+    private boolean isPlaying(String team) {
+        TeamId teamId = teams.find(team);
+        return teamId != null && matchesByTeamId[teamId.id()] != null;
+    }
+
+    private boolean areTeamsFreeToPlay(int homeTeamId, int awayTeamId) {
+        return matchesByTeamId[homeTeamId] == null && matchesByTeamId[awayTeamId] == null;
+    }
+
+    // every registered team gets an entry in the match index right away
+    private TeamId register(String name) {
+        TeamId team = teams.register(name);
+        if (team.id() == matchesByTeamId.length) matchesByTeamId = Arrays.copyOf(matchesByTeamId, team.id() * 2);
+        return team;
+    }
+
+    // a read-only view of a list already in summary order; TreeSet.addAll builds its tree from a sorted set
+    // in linear time, where building it from a TreeSet would first take n log n to fill the source
+    private static class SortedMatches extends AbstractSet<Match> implements SortedSet<Match> {
+
+        private final List<Match> matches;
+        private final Comparator<? super Match> comparator;
+
+        SortedMatches(List<Match> matches, Comparator<? super Match> comparator) {
+            this.matches = Collections.unmodifiableList(matches);
+            this.comparator = comparator;
+        }
+
+        @Override
+        public Iterator<Match> iterator() {
+            return matches.iterator();
+        }
+
+        @Override
+        public int size() {
+            return matches.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Match match && Collections.binarySearch(matches, match, comparator) >= 0;
+        }
+
+        @Override
+        public Comparator<? super Match> comparator() {
+            return comparator;
+        }
+
+        @Override
+        public SortedSet<Match> subSet(Match fromElement, Match toElement) {
+            if (comparator.compare(fromElement, toElement) > 0)
+                throw new IllegalArgumentException("fromElement is after toElement");
+            return new SortedMatches(matches.subList(indexOf(fromElement), indexOf(toElement)), comparator);
+        }
+
+        @Override
+        public SortedSet<Match> headSet(Match toElement) {
+            return new SortedMatches(matches.subList(0, indexOf(toElement)), comparator);
+        }
+
+        @Override
+        public SortedSet<Match> tailSet(Match fromElement) {
+            return new SortedMatches(matches.subList(indexOf(fromElement), matches.size()), comparator);
+        }
+
+        @Override
+        public Match first() {
+            return matches.getFirst();
+        }
+
+        @Override
+        public Match last() {
+            return matches.getLast();
+        }
+
+        // index of the match, or of the first match ordered after it if it isn't in the list
+        private int indexOf(Match match) {
+            int index = Collections.binarySearch(matches, match, comparator);
+            return index >= 0 ? index : -index - 1;
+        }
+
     }
 
 }
@@ -0,0 +1,26 @@
+package org.footballworldcup.livescoreboard;
+
+/**
+ * A single scoreboard operation, to be applied as a part of a batch.
+ */
+public sealed interface ScoreCommand {
+
+    /**
+     * Starts a new match, see {@link Scoreboard#start(String, String)}.
+     */
+    record Start(String homeTeam, String awayTeam) implements ScoreCommand {
+    }
+
+    /**
+     * Updates the score of an ongoing match, see {@link Scoreboard#update(String, String, int, int)}.
+     */
+    record Update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) implements ScoreCommand {
+    }
+
+    /**
+     * Finishes an ongoing match, see {@link Scoreboard#finish(String, String)}.
+     */
+    record Finish(String homeTeam, String awayTeam) implements ScoreCommand {
+    }
+
+}
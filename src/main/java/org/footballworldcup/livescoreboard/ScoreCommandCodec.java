@@ -0,0 +1,93 @@
+package org.footballworldcup.livescoreboard;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// compact binary form of a command: a type byte, the team names as length-prefixed UTF-8
+// and, for updates, both scores, with all numbers written as unsigned varints
+final class ScoreCommandCodec {
+
+    private static final byte START = 1;
+    private static final byte UPDATE = 2;
+    private static final byte FINISH = 3;
+
+    private ScoreCommandCodec() {
+    }
+
+    /**
+     * @throws java.nio.BufferOverflowException if the command doesn't fit in the buffer
+     */
+    static void encode(ScoreCommand command, ByteBuffer buffer) {
+        switch (command) {
+            case ScoreCommand.Start start -> {
+                buffer.put(START);
+                putString(buffer, start.homeTeam());
+                putString(buffer, start.awayTeam());
+            }
+            case ScoreCommand.Update update -> {
+                buffer.put(UPDATE);
+                putString(buffer, update.homeTeam());
+                putString(buffer, update.awayTeam());
+                putVarint(buffer, update.homeTeamScore());
+                putVarint(buffer, update.awayTeamScore());
+            }
+            case ScoreCommand.Finish finish -> {
+                buffer.put(FINISH);
+                putString(buffer, finish.homeTeam());
+                putString(buffer, finish.awayTeam());
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the buffer doesn't hold a valid command
+     */
+    static ScoreCommand decode(ByteBuffer buffer) {
+        try {
+            byte type = buffer.get();
+            return switch (type) {
+                case START -> new ScoreCommand.Start(getString(buffer), getString(buffer));
+                case UPDATE -> new ScoreCommand.Update(
+                        getString(buffer), getString(buffer), getVarint(buffer), getVarint(buffer));
+                case FINISH -> new ScoreCommand.Finish(getString(buffer), getString(buffer));
+                default -> throw new IllegalArgumentException("Unknown command type " + type);
+            };
+        } catch (BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Truncated command", exception);
+        }
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = getVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Truncated team name");
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.List;
+
+// the operations a board applies the commands of a batch with, each rejecting its input by throwing
+// an IllegalArgumentException; every board dispatches its batches with applyAll, so they report alike
+interface ScoreCommandHandler {
+
+    void start(String homeTeam, String awayTeam);
+
+    void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore);
+
+    void finish(String homeTeam, String awayTeam);
+
+    // called after each command that was applied
+    default void applied(ScoreCommand command) {
+    }
+
+    // applies the commands in order, adding a result for each: a rejected command doesn't stop the batch,
+    // any other exception does, leaving the results of the commands applied before it for the board to count
+    default void applyAll(List<ScoreCommand> commands, List<CommandResult> results) {
+        for (ScoreCommand command : commands) {
+            try {
+                switch (command) {
+                    case ScoreCommand.Start start -> start(start.homeTeam(), start.awayTeam());
+                    case ScoreCommand.Update update -> update(update.homeTeam(), update.awayTeam(),
+                            update.homeTeamScore(), update.awayTeamScore());
+                    case ScoreCommand.Finish finish -> finish(finish.homeTeam(), finish.awayTeam());
+                }
+            } catch (IllegalArgumentException exception) {
+                results.add(CommandResult.rejected(command, exception));
+                continue;
+            }
+            results.add(CommandResult.applied(command));
+            applied(command);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+/**
+ * Outcome of an operation that reports rejected input instead of throwing.
+ */
+public enum ScoreOutcome {
+    /** The operation was applied. */
+    OK,
+    /** There is no such running match, see {@link MatchNotFoundException}. */
+    NOT_FOUND,
+    /** The new score is lower than the current one, see {@link LowerScoreException}. */
+    LOWER_SCORE,
+    /** A team is already playing or plays against itself, see {@link ClashingTeamsException}. */
+    CLASHING,
+    /** A team name is blank, see {@link BlankTeamNameException}. */
+    BLANK_NAME,
+    /** The message's sequence number isn't later than the last one applied to the match, so it was dropped. */
+    STALE;
+
+    // outcome of an exception thrown by a board, any other exception isn't a rejection of input
+    static ScoreOutcome of(IllegalArgumentException exception) {
+        return switch (exception) {
+            case MatchNotFoundException ignored -> NOT_FOUND;
+            case LowerScoreException ignored -> LOWER_SCORE;
+            case ClashingTeamsException ignored -> CLASHING;
+            case BlankTeamNameException ignored -> BLANK_NAME;
+            default -> throw exception;
+        };
+    }
+}
@@ -19,6 +19,57 @@ public interface Scoreboard {
      */
     List<SummarizedMatch> getSummary();
 
+    /**
+     * Returns a summary of the top ongoing matches, ordered as in {@link #getSummary()}.
+     * Only the returned matches are summarized.
+     *
+     * @param limit the maximum number of matches to return
+     * @return a list of at most limit summarized match results
+     * @throws IllegalArgumentException if limit is negative
+     */
+    default List<SummarizedMatch> getSummary(int limit) {
+        return getSummary(0, limit);
+    }
+
+    /**
+     * Returns a page of the summary of all ongoing matches, ordered as in {@link #getSummary()}.
+     * Only the returned matches are summarized.
+     *
+     * @param offset the number of leading matches to skip
+     * @param limit the maximum number of matches to return
+     * @return a list of at most limit summarized match results
+     * @throws IllegalArgumentException if offset or limit is negative
+     */
+    List<SummarizedMatch> getSummary(int offset, int limit);
+
+    /**
+     * Returns the summary of all ongoing matches together with the version of the board it was taken at.
+     * While the board doesn't change, the same snapshot is returned.
+     *
+     * @return an immutable snapshot of the summary
+     */
+    SummarySnapshot getSnapshot();
+
+    /**
+     * Returns the current version of the board.
+     * The version grows by one with every successful start, update and finish, and by one with every batch
+     * applying any of its commands, however many. A batch stopped by an unexpected exception still makes
+     * a new version if it applied a command before. The version never changes otherwise.
+     *
+     * @return the current version of the board
+     */
+    long getVersion();
+
+    /**
+     * Checks whether the board was changed after the given version.
+     *
+     * @param version a version previously returned by the board
+     * @return true if any match was started, updated or finished since that version
+     */
+    default boolean hasChangedSince(long version) {
+        return getVersion() > version;
+    }
+
     /**
      * Starts a new match between two distinct teams, with score 0-0.
      *
@@ -52,4 +103,65 @@ public interface Scoreboard {
      */
     void finish(String homeTeam, String awayTeam) throws MatchNotFoundException;
 
+    /**
+     * Starts a new match like {@link #start(String, String)}, but reports rejected input instead of throwing.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @return OK if the match was started, otherwise CLASHING or BLANK_NAME
+     */
+    default ScoreOutcome tryStart(String homeTeam, String awayTeam) {
+        try {
+            start(homeTeam, awayTeam);
+            return ScoreOutcome.OK;
+        } catch (IllegalArgumentException exception) {
+            return ScoreOutcome.of(exception);
+        }
+    }
+
+    /**
+     * Updates the score of an ongoing match like {@link #update(String, String, int, int)},
+     * but reports rejected input instead of throwing.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @param homeTeamScore the new score for the home team
+     * @param awayTeamScore the new score for the away team
+     * @return OK if the score was updated, otherwise NOT_FOUND or LOWER_SCORE
+     */
+    default ScoreOutcome tryUpdate(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        try {
+            update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            return ScoreOutcome.OK;
+        } catch (IllegalArgumentException exception) {
+            return ScoreOutcome.of(exception);
+        }
+    }
+
+    /**
+     * Finishes an ongoing match like {@link #finish(String, String)}, but reports rejected input instead of throwing.
+     *
+     * @param homeTeam the name of the home team
+     * @param awayTeam the name of the away team
+     * @return OK if the match was finished, otherwise NOT_FOUND
+     */
+    default ScoreOutcome tryFinish(String homeTeam, String awayTeam) {
+        try {
+            finish(homeTeam, awayTeam);
+            return ScoreOutcome.OK;
+        } catch (IllegalArgumentException exception) {
+            return ScoreOutcome.of(exception);
+        }
+    }
+
+    /**
+     * Applies a batch of commands in the given order.
+     * A rejected command doesn't stop the batch, the remaining commands are still applied.
+     * The batch is applied as a whole: a summary shows either none or all of its changes.
+     *
+     * @param commands the commands to apply
+     * @return a result for each command, in the order of commands
+     */
+    List<CommandResult> applyBatch(List<ScoreCommand> commands);
+
 }
@@ -0,0 +1,177 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a board from a file of running matches in one go, much faster than starting and updating them one by one.
+ * <p>
+ * Each line of the file holds a match as {@code homeTeam,awayTeam[,homeTeamScore,awayTeamScore]}, without
+ * quoting; blank lines and lines starting with {@code #} are skipped. The file is memory-mapped and split into
+ * chunks parsed in parallel. The rows are then checked in file order against the rules of
+ * {@link Scoreboard#start(String, String)}, and the accepted matches are sorted and put into the board at once.
+ * Matches are ordered as if they had been started in file order, and a rejected row doesn't stop the load.
+ * <p>
+ * Every field is stripped of surrounding whitespace, so {@code Mexico, Canada} loads the teams
+ * {@code "Mexico"} and {@code "Canada"}. {@link Scoreboard#start(String, String)} takes names as given,
+ * so a team whose name has surrounding whitespace can't be loaded from a file under that name.
+ */
+public class ScoreboardBulkLoader {
+
+    // chunks are at least this large, so small files aren't split into more pieces than worth parsing in parallel
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private ScoreboardBulkLoader() {
+    }
+
+    /**
+     * A row of the file that didn't become a running match.
+     *
+     * @param lineNo the number of the line, starting from 1
+     */
+    public record RejectedRow(int lineNo, String line, String reason) {
+    }
+
+    /**
+     * @param scoreboard the board holding all accepted matches, at version 0
+     * @param rejectedRows the rejected rows, in file order
+     */
+    public record BulkLoadResult(LiveScoreboard scoreboard, List<RejectedRow> rejectedRows) {
+    }
+
+    /**
+     * Loads all matches of the file into a new board.
+     *
+     * @throws IOException if the file can't be read
+     */
+    static BulkLoadResult load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("File too large to load at once");
+            ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return build(parse(content));
+        }
+    }
+
+    // parses chunks ending at line ends in parallel
+    private static List<ParsedChunk> parse(ByteBuffer content) {
+        int[] chunkStarts = chunkStarts(content);
+        return IntStream.range(0, chunkStarts.length - 1).parallel()
+                .mapToObj(chunk -> parseChunk(content, chunkStarts[chunk], chunkStarts[chunk + 1]))
+                .toList();
+    }
+
+    private static int[] chunkStarts(ByteBuffer content) {
+        int size = content.limit();
+        int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, size / MIN_CHUNK_SIZE));
+        int[] starts = new int[chunks + 1];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            int start = Math.max(starts[chunk - 1], (int) ((long) size * chunk / chunks));
+            while (start < size && start > 0 && content.get(start - 1) != '\n') {
+                start++;
+            }
+            starts[chunk] = start;
+        }
+        starts[chunks] = size;
+        return starts;
+    }
+
+    private static ParsedChunk parseChunk(ByteBuffer content, int start, int end) {
+        List<Row> rows = new ArrayList<>();
+        int lineNo = 0;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && content.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            lineNo += 1;
+            int textEnd = lineEnd > lineStart && content.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            byte[] bytes = new byte[textEnd - lineStart];
+            content.get(lineStart, bytes);
+            String line = new String(bytes, StandardCharsets.UTF_8);
+            if (!line.isBlank() && !line.startsWith("#")) rows.add(Row.parse(lineNo, line));
+            lineStart = lineEnd + 1;
+        }
+        return new ParsedChunk(rows, lineNo);
+    }
+
+    // applies the rules of starting matches to the rows in file order, using a set of the teams playing so far
+    private static BulkLoadResult build(List<ParsedChunk> chunks) {
+        int rowCount = chunks.stream().mapToInt(chunk -> chunk.rows().size()).sum();
+        List<RejectedRow> rejectedRows = new ArrayList<>();
+        List<Match> matches = new ArrayList<>(rowCount);
+        // sized for two teams per row up front, so the set is never rehashed
+        Set<String> playingTeams = HashSet.newHashSet(2 * rowCount);
+        int linesBefore = 0;
+        for (ParsedChunk chunk : chunks) {
+            for (Row row : chunk.rows()) {
+                String reason = row.error() == null ? checkStart(row, playingTeams) : row.error();
+                if (reason != null) {
+                    rejectedRows.add(new RejectedRow(linesBefore + row.lineNo(), row.line(), reason));
+                } else {
+                    matches.add(new Match(row.homeTeam(), row.awayTeam(),
+                            row.homeTeamScore(), row.awayTeamScore(), matches.size()));
+                }
+            }
+            linesBefore += chunk.lineCount();
+        }
+        Match[] rankedMatches = matches.toArray(new Match[0]);
+        Arrays.parallelSort(rankedMatches, new MatchesComparator());
+        LiveScoreboard scoreboard = LiveScoreboard.restore(
+                new ScoreboardCheckpoint(0, rankedMatches.length, Arrays.asList(rankedMatches)));
+        return new BulkLoadResult(scoreboard, Collections.unmodifiableList(rejectedRows));
+    }
+
+    // the reason the match can't be started, or null if it can, in which case its teams are now playing
+    private static String checkStart(Row row, Set<String> playingTeams) {
+        StartRule broken = StartRule.check(row.homeTeam(), row.awayTeam(), playingTeams::contains);
+        if (broken != null) return broken.violation();
+        playingTeams.add(row.homeTeam());
+        playingTeams.add(row.awayTeam());
+        return null;
+    }
+
+    // the rows of a chunk, with lines numbered from the start of the chunk
+    private record ParsedChunk(List<Row> rows, int lineCount) {
+    }
+
+    // a parsed line, with either the match it holds or the reason it is malformed
+    private record Row(int lineNo, String line, String homeTeam, String awayTeam,
+                       int homeTeamScore, int awayTeamScore, String error) {
+
+        static Row parse(int lineNo, String line) {
+            String[] fields = line.split(",", -1);
+            if (fields.length != 2 && fields.length != 4) return rejected(lineNo, line, "Malformed row");
+            int homeTeamScore = 0;
+            int awayTeamScore = 0;
+            if (fields.length == 4) {
+                try {
+                    homeTeamScore = Integer.parseInt(fields[2].strip());
+                    awayTeamScore = Integer.parseInt(fields[3].strip());
+                } catch (NumberFormatException exception) {
+                    return rejected(lineNo, line, "Malformed score");
+                }
+                if (homeTeamScore < 0 || awayTeamScore < 0) return rejected(lineNo, line, "Score can't be negative");
+            }
+            return new Row(lineNo, line, fields[0].strip(), fields[1].strip(), homeTeamScore, awayTeamScore, null);
+        }
+
+        static Row rejected(int lineNo, String line, String error) {
+            return new Row(lineNo, line, null, null, 0, 0, error);
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A binary image of all running matches of a board, so that restart time depends on the number
+ * of running matches rather than on the length of the journal.
+ *
+ * @param journalGeneration the generation of the journal whose records are included in the checkpoint
+ * @param nextMatchNo the order number of the next match to be started
+ * @param rankedMatches the running matches, in summary order
+ */
+record ScoreboardCheckpoint(long journalGeneration, int nextMatchNo, List<Match> rankedMatches) {
+
+    private static final int MAGIC = 0x53424331;
+    private static final int FORMAT_VERSION = 1;
+    // magic, format version, journal generation, next match number and number of matches
+    private static final int HEADER_SIZE = 24;
+    private static final int CHECKSUM_SIZE = 4;
+    // besides team names, a match takes two varint name lengths and three varint numbers, of up to 5 bytes each
+    private static final int MAX_MATCH_OVERHEAD = 5 * 5;
+
+    /**
+     * Writes the checkpoint to a temporary file first, then moves it over the given file,
+     * so the file holds either the previous or the new checkpoint.
+     */
+    static void write(Path file, long journalGeneration, int nextMatchNo, Collection<Match> rankedMatches)
+            throws IOException {
+        ByteBuffer buffer = encode(journalGeneration, nextMatchNo, rankedMatches);
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the whole checkpoint with a single bulk read.
+     *
+     * @throws IOException if the file can't be read or isn't a valid checkpoint
+     */
+    static ScoreboardCheckpoint read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Checkpoint too large");
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new IOException("Truncated checkpoint");
+            }
+            return decode(buffer.flip());
+        }
+    }
+
+    static ByteBuffer encode(long journalGeneration, int nextMatchNo, Collection<Match> rankedMatches) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + rankedMatches.size() * 32 + CHECKSUM_SIZE);
+        buffer.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(journalGeneration)
+                .putInt(nextMatchNo)
+                .putInt(rankedMatches.size());
+        for (Match match : rankedMatches) {
+            byte[] homeTeam = match.getHomeTeam().getBytes(StandardCharsets.UTF_8);
+            byte[] awayTeam = match.getAwayTeam().getBytes(StandardCharsets.UTF_8);
+            int maxSize = homeTeam.length + awayTeam.length + MAX_MATCH_OVERHEAD;
+            if (buffer.remaining() < maxSize + CHECKSUM_SIZE) buffer = grow(buffer, maxSize + CHECKSUM_SIZE);
+            ScoreCommandCodec.putVarint(buffer, homeTeam.length);
+            buffer.put(homeTeam);
+            ScoreCommandCodec.putVarint(buffer, awayTeam.length);
+            buffer.put(awayTeam);
+            ScoreCommandCodec.putVarint(buffer, match.getHomeTeamScore());
+            ScoreCommandCodec.putVarint(buffer, match.getAwayTeamScore());
+            ScoreCommandCodec.putVarint(buffer, match.getOrderNo());
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) checksum.getValue());
+        return buffer.flip();
+    }
+
+    static ScoreboardCheckpoint decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE + CHECKSUM_SIZE || buffer.getInt(buffer.position()) != MAGIC)
+            throw new IOException("Not a scoreboard checkpoint");
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(buffer.position(), buffer.remaining() - CHECKSUM_SIZE));
+        if ((int) checksum.getValue() != buffer.getInt(buffer.limit() - CHECKSUM_SIZE))
+            throw new IOException("Corrupted checkpoint");
+        try {
+            buffer.getInt();
+            if (buffer.getInt() != FORMAT_VERSION) throw new IOException("Unsupported checkpoint format");
+            long journalGeneration = buffer.getLong();
+            int nextMatchNo = buffer.getInt();
+            int matchCount = buffer.getInt();
+            List<Match> rankedMatches = new ArrayList<>(matchCount);
+            for (int i = 0; i < matchCount; i++) {
+                String homeTeam = getString(buffer);
+                String awayTeam = getString(buffer);
+                int homeTeamScore = ScoreCommandCodec.getVarint(buffer);
+                int awayTeamScore = ScoreCommandCodec.getVarint(buffer);
+                int orderNo = ScoreCommandCodec.getVarint(buffer);
+                rankedMatches.add(new Match(homeTeam, awayTeam, homeTeamScore, awayTeamScore, orderNo));
+            }
+            return new ScoreboardCheckpoint(journalGeneration, nextMatchNo, rankedMatches);
+        } catch (BufferUnderflowException | IllegalArgumentException exception) {
+            throw new IOException("Corrupted checkpoint", exception);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = ScoreCommandCodec.getVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Truncated team name");
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int minRemaining) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + minRemaining);
+        return ByteBuffer.allocate(capacity).put(buffer.flip());
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.footballworldcup.livescoreboard;
+
+/**
+ * A change of the board, as published by {@link LiveScoreboard#changes()}.
+ * <p>
+ * Ranks are positions in the summary, starting from 0. Applying the events in order to a copy of the summary,
+ * as list insertions, removals and moves, keeps the copy equal to {@link Scoreboard#getSummary()}.
+ */
+public sealed interface ScoreboardEvent {
+
+    /**
+     * @return the version of the board the change is part of
+     */
+    long version();
+
+    /**
+     * A match was started and inserted into the summary at the given rank.
+     */
+    record MatchStarted(long version, String homeTeam, String awayTeam, int rank) implements ScoreboardEvent {
+    }
+
+    /**
+     * An update of a match was accepted, the match stays at its rank unless a {@link RankChanged} follows.
+     */
+    record ScoreChanged(long version, String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            implements ScoreboardEvent {
+    }
+
+    /**
+     * A match was moved in the summary from one rank to another, shifting the matches in between.
+     */
+    record RankChanged(long version, String homeTeam, String awayTeam, int fromRank, int toRank)
+            implements ScoreboardEvent {
+    }
+
+    /**
+     * A match was finished and removed from the summary at the given rank.
+     */
+    record MatchFinished(long version, String homeTeam, String awayTeam, int rank) implements ScoreboardEvent {
+    }
+
+    /**
+     * Replaces all events a slow subscriber didn't keep up with: the summary is now exactly the given snapshot.
+     */
+    record SummaryReset(long version, SummarySnapshot snapshot) implements ScoreboardEvent {
+    }
+
+}
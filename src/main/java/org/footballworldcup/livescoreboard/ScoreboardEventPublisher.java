@@ -0,0 +1,158 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Publishes board changes to subscribers without ever blocking the writer.
+ * <p>
+ * Every subscriber has its own bounded buffer, drained on the executor as the subscriber requests events.
+ * When a subscriber falls so far behind that its buffer fills up, its pending events are conflated
+ * into a single {@link ScoreboardEvent.SummaryReset} holding the current summary.
+ */
+class ScoreboardEventPublisher implements Flow.Publisher<ScoreboardEvent> {
+
+    private final Supplier<SummarySnapshot> currentSnapshot;
+    private final Executor executor;
+    private final int bufferSize;
+    private final List<EventSubscription> subscriptions;
+
+    ScoreboardEventPublisher(Supplier<SummarySnapshot> currentSnapshot, Executor executor, int bufferSize) {
+        if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be positive");
+        this.currentSnapshot = currentSnapshot;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardEvent> subscriber) {
+        EventSubscription subscription = new EventSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (!subscription.isCancelled()) subscriptions.add(subscription);
+    }
+
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    // called by the writer after the board has changed
+    void publish(List<ScoreboardEvent> events) {
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(events);
+        }
+    }
+
+    private final class EventSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super ScoreboardEvent> subscriber;
+        // buffer, demand, cancelled and error are guarded by this
+        private final Queue<ScoreboardEvent> buffer;
+        private long demand;
+        private boolean cancelled;
+        // signalled by the drain rather than right away, so it can't overlap a call of onNext
+        private Throwable error;
+        // makes sure only one drain runs at a time, so the subscriber is signalled serially
+        private final AtomicInteger pendingDrains;
+
+        EventSubscription(Flow.Subscriber<? super ScoreboardEvent> subscriber) {
+            this.subscriber = subscriber;
+            this.buffer = new ArrayDeque<>();
+            this.pendingDrains = new AtomicInteger();
+        }
+
+        void offer(List<ScoreboardEvent> events) {
+            synchronized (this) {
+                if (cancelled) return;
+                if (buffer.size() + events.size() > bufferSize) {
+                    // the reset already includes the new events, as the board has changed before publishing
+                    SummarySnapshot snapshot = currentSnapshot.get();
+                    buffer.clear();
+                    buffer.add(new ScoreboardEvent.SummaryReset(snapshot.version(), snapshot));
+                } else {
+                    buffer.addAll(events);
+                }
+            }
+            drainLater();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested number of events must be positive"));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            drainLater();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                buffer.clear();
+            }
+            subscriptions.remove(this);
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            int drains = 1;
+            while (true) {
+                ScoreboardEvent event;
+                while ((event = next()) != null) {
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException exception) {
+                        // a subscriber failing to take an event gets no more of them
+                        fail(exception);
+                    }
+                }
+                Throwable failure = takeError();
+                if (failure != null) subscriber.onError(failure);
+                drains = pendingDrains.addAndGet(-drains);
+                if (drains == 0) return;
+            }
+        }
+
+        private synchronized ScoreboardEvent next() {
+            if (cancelled || demand == 0 || buffer.isEmpty()) return null;
+            if (demand != Long.MAX_VALUE) demand -= 1;
+            return buffer.poll();
+        }
+
+        private synchronized Throwable takeError() {
+            Throwable failure = error;
+            error = null;
+            return failure;
+        }
+
+        // cancels the subscription and leaves the error to the drain
+        private void fail(Throwable failure) {
+            synchronized (this) {
+                if (cancelled) return;
+                error = failure;
+            }
+            cancel();
+            drainLater();
+        }
+
+        private void drainLater() {
+            if (pendingDrains.getAndIncrement() == 0) executor.execute(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,286 @@
+package org.footballworldcup.livescoreboard;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An embedded HTTP server publishing the summary of a board, each request handled on its own virtual thread.
+ * <p>
+ * The server never reads the board itself: the thread writing the board publishes a snapshot after its changes,
+ * e.g. with {@code server.publish(scoreboard.getSnapshot())}. Each published version is rendered at most once
+ * per format, when first requested, and served with an ETag, so a poll of an unchanged summary is answered
+ * with 304 Not Modified from the cache.
+ * <ul>
+ *     <li>{@code GET /summary} - the summary as JSON</li>
+ *     <li>{@code GET /summary.txt} - the summary as text, one {@link SummarizedMatch#toString()} per line</li>
+ *     <li>{@code GET /summary/next?after=<version>&timeout=<seconds>} - waits for a version later than the given
+ *     one, the current version by default, and returns it as JSON, or 204 No Content if none was published
+ *     within the timeout, {@value #DEFAULT_POLL_TIMEOUT_SECONDS} seconds by default and at most
+ *     {@value #MAX_POLL_TIMEOUT_SECONDS}</li>
+ * </ul>
+ */
+public class ScoreboardHttpServer implements Closeable {
+
+    static final int DEFAULT_POLL_TIMEOUT_SECONDS = 30;
+    static final int MAX_POLL_TIMEOUT_SECONDS = 60;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // distinguishes ETags of this server from those of an earlier one, whose versions may have started over
+    private final String etagPrefix;
+    private volatile RenderedSummary current;
+    // guards publishing, so long polls can wait for the next version
+    private final ReentrantLock publishLock;
+    private final Condition published;
+    private volatile boolean closed;
+
+    private ScoreboardHttpServer(HttpServer server, SummarySnapshot snapshot) {
+        this.server = server;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.etagPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        this.current = new RenderedSummary(snapshot, etagPrefix);
+        this.publishLock = new ReentrantLock();
+        this.published = publishLock.newCondition();
+    }
+
+    /**
+     * Starts serving the given snapshot on the given address, a port of 0 picks any free port.
+     *
+     * @throws IOException if the address can't be bound
+     */
+    static ScoreboardHttpServer start(InetSocketAddress address, SummarySnapshot snapshot) throws IOException {
+        Objects.requireNonNull(snapshot);
+        ScoreboardHttpServer summaryServer = new ScoreboardHttpServer(HttpServer.create(address, 0), snapshot);
+        // a single context routed by the handler, as the JDK matches contexts by plain prefix up to 22 but by whole
+        // path segments from 23 on, where a /summary context wouldn't receive /summary.txt
+        summaryServer.server.createContext("/", summaryServer::handle);
+        summaryServer.server.setExecutor(summaryServer.executor);
+        summaryServer.server.start();
+        return summaryServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Returns the version of the latest published snapshot.
+     */
+    public long getVersion() {
+        return current.snapshot.version();
+    }
+
+    /**
+     * Makes the snapshot the one served, unless a snapshot of the same or a later version was already published.
+     * Only replaces a reference and wakes up long polls, rendering is left to the first request.
+     */
+    public void publish(SummarySnapshot snapshot) {
+        publishLock.lock();
+        try {
+            if (snapshot.version() <= current.snapshot.version()) return;
+            current = new RenderedSummary(snapshot, etagPrefix);
+            published.signalAll();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the server, waiting long polls are answered with 204 No Content.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        publishLock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            publishLock.unlock();
+        }
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            switch (exchange.getRequestURI().getPath()) {
+                case "/summary" -> sendSummary(exchange, current, false);
+                case "/summary.txt" -> sendSummary(exchange, current, true);
+                case "/summary/next" -> sendNextSummary(exchange);
+                default -> exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+
+    private void sendNextSummary(HttpExchange exchange) throws IOException {
+        RenderedSummary summary = current;
+        long after;
+        long timeoutNanos;
+        try {
+            String afterParameter = queryParameter(exchange, "after");
+            String timeoutParameter = queryParameter(exchange, "timeout");
+            after = afterParameter == null ? summary.snapshot.version() : Long.parseLong(afterParameter);
+            int timeoutSeconds = timeoutParameter == null
+                    ? DEFAULT_POLL_TIMEOUT_SECONDS : Integer.parseInt(timeoutParameter);
+            timeoutNanos = TimeUnit.SECONDS.toNanos(Math.clamp(timeoutSeconds, 0, MAX_POLL_TIMEOUT_SECONDS));
+        } catch (NumberFormatException exception) {
+            exchange.sendResponseHeaders(400, -1);
+            return;
+        }
+        if (summary.snapshot.version() <= after) summary = awaitVersionAfter(after, timeoutNanos);
+        if (summary == null) {
+            exchange.sendResponseHeaders(204, -1);
+            return;
+        }
+        sendSummary(exchange, summary, false);
+    }
+
+    // null if no later version was published in time, or the server was closed
+    private RenderedSummary awaitVersionAfter(long version, long timeoutNanos) {
+        publishLock.lock();
+        try {
+            while (current.snapshot.version() <= version) {
+                if (closed || timeoutNanos <= 0) return null;
+                timeoutNanos = published.awaitNanos(timeoutNanos);
+            }
+            return current;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private static void sendSummary(HttpExchange exchange, RenderedSummary summary, boolean text)
+            throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        String etag = text ? summary.textEtag : summary.jsonEtag;
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "no-cache");
+        if (matchesEtag(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        byte[] body = text ? summary.text() : summary.json();
+        headers.set("Content-Type", text ? "text/plain; charset=utf-8" : "application/json");
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            headers.set("Content-Length", Integer.toString(body.length));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) return null;
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).equals(name))
+                return parameter.substring(separator + 1);
+        }
+        return null;
+    }
+
+    private static String renderJson(SummarySnapshot snapshot) {
+        StringBuilder json = new StringBuilder(64 + snapshot.matches().size() * 96);
+        json.append("{\"version\":").append(snapshot.version()).append(",\"matches\":[");
+        for (int i = 0; i < snapshot.matches().size(); i++) {
+            SummarizedMatch match = snapshot.matches().get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"homeTeam\":");
+            appendJsonString(json, match.homeTeam());
+            json.append(",\"awayTeam\":");
+            appendJsonString(json, match.awayTeam());
+            json.append(",\"homeTeamScore\":").append(match.homeTeamScore())
+                    .append(",\"awayTeamScore\":").append(match.awayTeamScore()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    // a published snapshot with its bodies, each rendered once, when first requested
+    private static final class RenderedSummary {
+
+        private final SummarySnapshot snapshot;
+        // each format has its own ETag, as the bodies differ
+        private final String jsonEtag;
+        private final String textEtag;
+        private byte[] json;
+        private byte[] text;
+
+        RenderedSummary(SummarySnapshot snapshot, String etagPrefix) {
+            this.snapshot = snapshot;
+            this.jsonEtag = "\"" + etagPrefix + "-" + snapshot.version() + "\"";
+            this.textEtag = "\"" + etagPrefix + "-" + snapshot.version() + "-text\"";
+        }
+
+        synchronized byte[] json() {
+            if (json == null) json = renderJson(snapshot).getBytes(StandardCharsets.UTF_8);
+            return json;
+        }
+
+        synchronized byte[] text() {
+            if (text == null) {
+                ByteBuffer encoded = new SummaryRenderer().encode(snapshot.matches());
+                text = new byte[encoded.remaining()];
+                encoded.get(text);
+            }
+            return text;
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds commands from any number of threads to a {@link LiveScoreboard} owned by a single writer thread.
+ * <p>
+ * Producers claim a slot of a pre-allocated ring buffer with one atomic operation and never take a lock.
+ * The writer drains all commands published so far and applies them with {@link LiveScoreboard#applyBatch},
+ * so the summary is rebuilt once per drained batch rather than once per command. Each command gets a future
+ * completed with its result once its batch is applied, rejected commands included.
+ * <p>
+ * A producer finding the buffer full waits for the writer by parking, which suits virtual threads.
+ */
+public class ScoreboardIngestionPipeline implements Closeable {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+    private static final int SPINS_BEFORE_PARKING = 100;
+    private static final long PRODUCER_PARK_NANOS = 10_000;
+    private static final long CLOSING_WRITER_PARK_NANOS = 1_000_000;
+
+    private final LiveScoreboard scoreboard;
+    private final int mask;
+    private final ScoreCommand[] commands;
+    private final CompletableFuture<CommandResult>[] futures;
+    // sequence last published in each slot, the slot of sequence s is free once s - capacity is consumed
+    private final AtomicLongArray publishedSequences;
+    // number of sequences claimed by producers, with the CLOSED bit set once no more can be claimed
+    private final AtomicLong claimed;
+    // number of sequences applied by the writer
+    private volatile long consumed;
+    private volatile boolean writerWaiting;
+    private final Thread writer;
+    // summary after the latest applied batch, shared by all readers
+    private volatile SummarySnapshot snapshot;
+
+    @SuppressWarnings("unchecked")
+    ScoreboardIngestionPipeline(LiveScoreboard scoreboard, int bufferSize) {
+        if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be positive");
+        int capacity = bufferSize == 1 ? 1 : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.scoreboard = scoreboard;
+        this.mask = capacity - 1;
+        this.commands = new ScoreCommand[capacity];
+        this.futures = (CompletableFuture<CommandResult>[]) new CompletableFuture<?>[capacity];
+        this.publishedSequences = new AtomicLongArray(capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            publishedSequences.set(slot, slot - capacity);
+        }
+        this.claimed = new AtomicLong();
+        this.snapshot = scoreboard.getSnapshot();
+        this.writer = Thread.ofPlatform().name("scoreboard-ingestion-writer").daemon().unstarted(this::write);
+        this.writer.start();
+    }
+
+    /**
+     * Publishes a command to be applied by the writer thread.
+     *
+     * @param command the command to apply
+     * @return a future completed with the result of the command once it is applied
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public CompletableFuture<CommandResult> submit(ScoreCommand command) {
+        Objects.requireNonNull(command, "command");
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) throw new IllegalStateException("Pipeline closed");
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int spins = 0;
+        while (sequence - commands.length >= consumed) {
+            if (spins++ < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+            }
+        }
+        int slot = (int) sequence & mask;
+        CompletableFuture<CommandResult> future = new CompletableFuture<>();
+        commands[slot] = command;
+        futures[slot] = future;
+        // the volatile write publishes the slot contents to the writer
+        publishedSequences.set(slot, sequence);
+        if (writerWaiting) LockSupport.unpark(writer);
+        return future;
+    }
+
+    public List<SummarizedMatch> getSummary() {
+        return snapshot.matches();
+    }
+
+    /**
+     * Returns the summary as of the latest batch applied by the writer.
+     */
+    public SummarySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Stops accepting commands, waits until all commands already submitted are applied, then stops the writer.
+     */
+    @Override
+    public void close() {
+        claimed.getAndAccumulate(CLOSED, (current, closed) -> current | closed);
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void write() {
+        List<ScoreCommand> batch = new ArrayList<>(commands.length);
+        List<CompletableFuture<CommandResult>> batchFutures = new ArrayList<>(commands.length);
+        long next = 0;
+        while (true) {
+            // drain every slot published in sequence, at most a whole buffer
+            while (batch.size() < commands.length && publishedSequences.get((int) next & mask) == next) {
+                int slot = (int) next & mask;
+                batch.add(commands[slot]);
+                batchFutures.add(futures[slot]);
+                commands[slot] = null;
+                futures[slot] = null;
+                next += 1;
+            }
+            if (!batch.isEmpty()) {
+                apply(batch, batchFutures);
+                // slots are handed back to producers only after their futures are completed
+                consumed = next;
+                batch.clear();
+                batchFutures.clear();
+                continue;
+            }
+            long claimedNow = claimed.get();
+            if ((claimedNow & CLOSED) != 0 && (claimedNow & ~CLOSED) == next) return;
+            awaitPublished(next);
+        }
+    }
+
+    private void apply(List<ScoreCommand> batch, List<CompletableFuture<CommandResult>> batchFutures) {
+        try {
+            List<CommandResult> results = scoreboard.applyBatch(batch);
+            snapshot = scoreboard.getSnapshot();
+            for (int i = 0; i < results.size(); i++) {
+                batchFutures.get(i).complete(results.get(i));
+            }
+        } catch (RuntimeException exception) {
+            for (CompletableFuture<CommandResult> future : batchFutures) {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+
+    // parks until a producer publishes the sequence, or the pipeline is closed with the sequence left unclaimed
+    private void awaitPublished(long sequence) {
+        for (int spins = 0; spins < SPINS_BEFORE_PARKING; spins++) {
+            if (publishedSequences.get((int) sequence & mask) == sequence) return;
+            Thread.onSpinWait();
+        }
+        writerWaiting = true;
+        // checked again after announcing the wait, so a producer publishing meanwhile is sure to unpark the writer
+        if (publishedSequences.get((int) sequence & mask) != sequence) {
+            long claimedNow = claimed.get();
+            if ((claimedNow & CLOSED) == 0) {
+                LockSupport.park(this);
+            } else if ((claimedNow & ~CLOSED) != sequence) {
+                // claimed before the close by a producer still to publish it: the writer parks rather than spin
+                // until then, with a timeout, as no close() is left to unpark it should the producer never publish
+                LockSupport.parkNanos(this, CLOSING_WRITER_PARK_NANOS);
+            }
+        }
+        writerWaiting = false;
+    }
+
+}
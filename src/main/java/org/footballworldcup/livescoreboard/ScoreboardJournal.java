@@ -0,0 +1,213 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the operations applied to a {@link LiveScoreboard}, kept in a memory-mapped file.
+ * <p>
+ * Every successful start, update and finish is appended as a compact binary record protected by a checksum.
+ * Records are forced to disk according to the {@link JournalSyncPolicy}. On a crash the records not forced yet
+ * may be lost, but the records before them stay readable: recovery stops at the first incomplete record.
+ * <p>
+ * Once the board is saved in a checkpoint, the journal starts over with a new generation,
+ * so that recovery replays only the records written after the checkpoint.
+ */
+public class ScoreboardJournal implements Closeable {
+
+    private static final int MAGIC = 0x53424A31;
+    // version 2 added the generation to the header
+    private static final int FORMAT_VERSION = 2;
+    // magic, format version and generation
+    private static final int HEADER_SIZE = 16;
+    // payload length and CRC32 of the payload
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int INITIAL_MAPPING_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final JournalSyncPolicy syncPolicy;
+    private final CRC32 checksum;
+    private MappedByteBuffer mapping;
+    private ByteBuffer scratch;
+    // end of the last valid record, where the next record is appended
+    private int position;
+    private int syncedPosition;
+    private int unsyncedRecords;
+    // grows each time the records are moved into a checkpoint and the journal starts over
+    private long generation;
+
+    private ScoreboardJournal(FileChannel channel, JournalSyncPolicy syncPolicy) throws IOException {
+        this.channel = channel;
+        this.syncPolicy = syncPolicy;
+        this.checksum = new CRC32();
+        this.scratch = ByteBuffer.allocate(256);
+        this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(channel.size(), INITIAL_MAPPING_SIZE));
+    }
+
+    /**
+     * Opens the journal in the given file, creating the file if it doesn't exist.
+     * Records of an existing journal can be replayed with {@link LiveScoreboard#recover(ScoreboardJournal)}.
+     */
+    static ScoreboardJournal open(Path file, JournalSyncPolicy syncPolicy) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            ScoreboardJournal journal = new ScoreboardJournal(channel, syncPolicy);
+            if (created) journal.writeHeader();
+            else journal.readHeader();
+            journal.position = journal.findEnd();
+            journal.discardTail();
+            return journal;
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns all valid records of the journal, in the order they were appended.
+     */
+    List<ScoreCommand> readRecords() {
+        List<ScoreCommand> records = new ArrayList<>();
+        ByteBuffer buffer = mapping.duplicate();
+        buffer.position(HEADER_SIZE).limit(position);
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            buffer.getInt();
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            records.add(ScoreCommandCodec.decode(payload));
+            buffer.position(buffer.position() + length);
+        }
+        return records;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Drops all records and starts the given generation of the journal,
+     * once the records are saved in a checkpoint.
+     */
+    void reset(long generation) {
+        sync();
+        // records are wiped first, so a crash in between leaves an empty journal of the old generation
+        zero(HEADER_SIZE, position);
+        mapping.force(HEADER_SIZE, position - HEADER_SIZE);
+        mapping.putLong(8, generation);
+        mapping.force(0, HEADER_SIZE);
+        this.generation = generation;
+        position = HEADER_SIZE;
+        syncedPosition = HEADER_SIZE;
+    }
+
+    void append(ScoreCommand command) {
+        ByteBuffer payload = encode(command);
+        int recordSize = RECORD_HEADER_SIZE + payload.remaining();
+        ensureCapacity(recordSize);
+        checksum.reset();
+        checksum.update(payload.duplicate());
+        mapping.putInt(position + 4, (int) checksum.getValue());
+        mapping.putInt(position, payload.remaining());
+        mapping.put(position + RECORD_HEADER_SIZE, payload, 0, payload.remaining());
+        position += recordSize;
+        unsyncedRecords += 1;
+    }
+
+    // called once after the records of an operation or batch are appended
+    void commit() {
+        if (syncPolicy.recordsPerSync() > 0 && unsyncedRecords >= syncPolicy.recordsPerSync()) sync();
+    }
+
+    /**
+     * Forces all appended records to disk.
+     */
+    public void sync() {
+        if (position > syncedPosition) mapping.force(syncedPosition, position - syncedPosition);
+        syncedPosition = position;
+        unsyncedRecords = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    private ByteBuffer encode(ScoreCommand command) {
+        while (true) {
+            scratch.clear();
+            try {
+                ScoreCommandCodec.encode(command, scratch);
+                return scratch.flip();
+            } catch (BufferOverflowException exception) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private void ensureCapacity(int recordSize) {
+        if ((long) position + recordSize <= mapping.capacity()) return;
+        long newSize = Math.max((long) mapping.capacity() * 2, (long) position + recordSize);
+        if (newSize > Integer.MAX_VALUE) throw new UncheckedIOException(new IOException("Journal is full"));
+        try {
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void writeHeader() {
+        mapping.putInt(0, MAGIC);
+        mapping.putInt(4, FORMAT_VERSION);
+        mapping.putLong(8, 0);
+        mapping.force(0, HEADER_SIZE);
+    }
+
+    private void readHeader() throws IOException {
+        if (mapping.getInt(0) != MAGIC) throw new IOException("Not a scoreboard journal");
+        if (mapping.getInt(4) != FORMAT_VERSION) throw new IOException("Unsupported journal format");
+        generation = mapping.getLong(8);
+    }
+
+    private int findEnd() {
+        int end = HEADER_SIZE;
+        while (end + RECORD_HEADER_SIZE <= mapping.capacity()) {
+            int length = mapping.getInt(end);
+            if (length <= 0 || length > mapping.capacity() - end - RECORD_HEADER_SIZE) break;
+            checksum.reset();
+            checksum.update(mapping.slice(end + RECORD_HEADER_SIZE, length));
+            if ((int) checksum.getValue() != mapping.getInt(end + 4)) break;
+            end += RECORD_HEADER_SIZE + length;
+        }
+        return end;
+    }
+
+    // an incomplete record may be followed by records that reached the disk before it,
+    // they are wiped so that new records never get mixed with them
+    private void discardTail() {
+        zero(position, mapping.capacity());
+        mapping.force();
+        syncedPosition = position;
+    }
+
+    private void zero(int from, int to) {
+        byte[] zeros = new byte[4096];
+        for (int i = from; i < to; i += zeros.length) {
+            mapping.put(i, zeros, 0, Math.min(zeros.length, to - i));
+        }
+    }
+
+}
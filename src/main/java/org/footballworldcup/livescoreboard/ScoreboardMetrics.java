@@ -0,0 +1,230 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operation metrics of an {@link InstrumentedScoreboard}, readable over JMX.
+ */
+public class ScoreboardMetrics implements ScoreboardMetricsMBean {
+
+    final LongAdder startCount;
+    final LongAdder updateCount;
+    final LongAdder finishCount;
+    final LongAdder summaryCount;
+    final LongAdder batchCount;
+    final LatencyHistogram startLatency;
+    final LatencyHistogram updateLatency;
+    final LatencyHistogram finishLatency;
+    final LatencyHistogram summaryLatency;
+    final LatencyHistogram batchLatency;
+    private final LongAdder blankTeamNameErrors;
+    private final LongAdder clashingTeamsErrors;
+    private final LongAdder lowerScoreErrors;
+    private final LongAdder matchNotFoundErrors;
+    private final LongAdder otherErrors;
+    private final AtomicInteger runningMatches;
+
+    ScoreboardMetrics(int runningMatches) {
+        this.startCount = new LongAdder();
+        this.updateCount = new LongAdder();
+        this.finishCount = new LongAdder();
+        this.summaryCount = new LongAdder();
+        this.batchCount = new LongAdder();
+        this.startLatency = new LatencyHistogram();
+        this.updateLatency = new LatencyHistogram();
+        this.finishLatency = new LatencyHistogram();
+        this.summaryLatency = new LatencyHistogram();
+        this.batchLatency = new LatencyHistogram();
+        this.blankTeamNameErrors = new LongAdder();
+        this.clashingTeamsErrors = new LongAdder();
+        this.lowerScoreErrors = new LongAdder();
+        this.matchNotFoundErrors = new LongAdder();
+        this.otherErrors = new LongAdder();
+        this.runningMatches = new AtomicInteger(runningMatches);
+    }
+
+    void recordError(RuntimeException exception) {
+        switch (exception) {
+            case BlankTeamNameException ignored -> blankTeamNameErrors.increment();
+            case ClashingTeamsException ignored -> clashingTeamsErrors.increment();
+            case LowerScoreException ignored -> lowerScoreErrors.increment();
+            case MatchNotFoundException ignored -> matchNotFoundErrors.increment();
+            default -> otherErrors.increment();
+        }
+    }
+
+    // counts an outcome reported instead of an exception as the error of the same kind
+    void recordError(ScoreOutcome outcome) {
+        switch (outcome) {
+            case BLANK_NAME -> blankTeamNameErrors.increment();
+            case CLASHING -> clashingTeamsErrors.increment();
+            case LOWER_SCORE -> lowerScoreErrors.increment();
+            case NOT_FOUND -> matchNotFoundErrors.increment();
+            default -> otherErrors.increment();
+        }
+    }
+
+    void matchesStarted(int matches) {
+        runningMatches.addAndGet(matches);
+    }
+
+    void matchesFinished(int matches) {
+        runningMatches.addAndGet(-matches);
+    }
+
+    @Override
+    public int getRunningMatches() {
+        return runningMatches.get();
+    }
+
+    @Override
+    public long getStartCount() {
+        return startCount.sum();
+    }
+
+    @Override
+    public long getStartLatencyP50() {
+        return startLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getStartLatencyP99() {
+        return startLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getStartLatencyP999() {
+        return startLatency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updateCount.sum();
+    }
+
+    @Override
+    public long getUpdateLatencyP50() {
+        return updateLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getUpdateLatencyP99() {
+        return updateLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getUpdateLatencyP999() {
+        return updateLatency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getFinishCount() {
+        return finishCount.sum();
+    }
+
+    @Override
+    public long getFinishLatencyP50() {
+        return finishLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getFinishLatencyP99() {
+        return finishLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getFinishLatencyP999() {
+        return finishLatency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getSummaryCount() {
+        return summaryCount.sum();
+    }
+
+    @Override
+    public long getSummaryLatencyP50() {
+        return summaryLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getSummaryLatencyP99() {
+        return summaryLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getSummaryLatencyP999() {
+        return summaryLatency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    @Override
+    public long getBatchLatencyP50() {
+        return batchLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getBatchLatencyP99() {
+        return batchLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getBatchLatencyP999() {
+        return batchLatency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getBlankTeamNameErrors() {
+        return blankTeamNameErrors.sum();
+    }
+
+    @Override
+    public long getClashingTeamsErrors() {
+        return clashingTeamsErrors.sum();
+    }
+
+    @Override
+    public long getLowerScoreErrors() {
+        return lowerScoreErrors.sum();
+    }
+
+    @Override
+    public long getMatchNotFoundErrors() {
+        return matchNotFoundErrors.sum();
+    }
+
+    @Override
+    public long getOtherErrors() {
+        return otherErrors.sum();
+    }
+
+    @Override
+    public void reset() {
+        startCount.reset();
+        updateCount.reset();
+        finishCount.reset();
+        summaryCount.reset();
+        batchCount.reset();
+        startLatency.reset();
+        updateLatency.reset();
+        finishLatency.reset();
+        summaryLatency.reset();
+        batchLatency.reset();
+        blankTeamNameErrors.reset();
+        clashingTeamsErrors.reset();
+        lowerScoreErrors.reset();
+        matchNotFoundErrors.reset();
+        otherErrors.reset();
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.footballworldcup.livescoreboard;
+
+/**
+ * Management interface of {@link ScoreboardMetrics}.
+ * Counts include rejected operations, each summary read counts as one operation and a batch counts once,
+ * however many commands it holds. Latencies are in nanoseconds, taken from a random sample of the operations.
+ */
+public interface ScoreboardMetricsMBean {
+
+    /**
+     * Returns the running matches, as counted from the writes made through the {@link InstrumentedScoreboard}.
+     */
+    int getRunningMatches();
+
+    long getStartCount();
+
+    long getStartLatencyP50();
+
+    long getStartLatencyP99();
+
+    long getStartLatencyP999();
+
+    long getUpdateCount();
+
+    long getUpdateLatencyP50();
+
+    long getUpdateLatencyP99();
+
+    long getUpdateLatencyP999();
+
+    long getFinishCount();
+
+    long getFinishLatencyP50();
+
+    long getFinishLatencyP99();
+
+    long getFinishLatencyP999();
+
+    long getSummaryCount();
+
+    long getSummaryLatencyP50();
+
+    long getSummaryLatencyP99();
+
+    long getSummaryLatencyP999();
+
+    long getBatchCount();
+
+    long getBatchLatencyP50();
+
+    long getBatchLatencyP99();
+
+    long getBatchLatencyP999();
+
+    long getBlankTeamNameErrors();
+
+    long getClashingTeamsErrors();
+
+    long getLowerScoreErrors();
+
+    long getMatchNotFoundErrors();
+
+    long getOtherErrors();
+
+    /**
+     * Sets all counts and latencies back to zero, the running matches are kept.
+     */
+    void reset();
+
+}
@@ -0,0 +1,155 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A read-only copy of the board of a {@link ScoreboardReplicationLeader}, kept up to date over TCP.
+ * <p>
+ * Joining the leader loads an image of all its running matches, after that the commands applied by the leader
+ * are applied here in the same order and in the same batches, so the summaries of both boards are equal
+ * at equal positions. Summaries are served from the local copy and can be read from any thread.
+ * <p>
+ * When the connection is lost the follower stops following, its summary stays as last seen.
+ */
+public class ScoreboardReplicationFollower implements Closeable {
+
+    private final Socket socket;
+    private final DataInputStream input;
+    // applied to by the receiver thread and read by any thread, guarded by itself
+    private final LiveScoreboard scoreboard;
+    private final Thread receiver;
+    // position of the leader log reached by the copy, guarded by this
+    private long position;
+    private volatile Exception failure;
+
+    private ScoreboardReplicationFollower(Socket socket, DataInputStream input, LiveScoreboard scoreboard,
+                                          long position) {
+        this.socket = socket;
+        this.input = input;
+        this.scoreboard = scoreboard;
+        this.position = position;
+        this.receiver = Thread.ofVirtual().name("scoreboard-replication-receiver").unstarted(this::receive);
+    }
+
+    /**
+     * Joins the leader at the given address, returning once the image of its running matches is loaded.
+     *
+     * @throws IOException if the leader can't be reached or doesn't send a valid image
+     */
+    static ScoreboardReplicationFollower connect(InetSocketAddress leaderAddress) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(leaderAddress);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            ReplicationProtocol.Frame frame = ReplicationProtocol.read(input);
+            if (frame.type() != ReplicationProtocol.SNAPSHOT) throw new IOException("Expected a snapshot frame");
+            LiveScoreboard scoreboard = LiveScoreboard.restore(ScoreboardCheckpoint.decode(frame.payload()));
+            ScoreboardReplicationFollower follower =
+                    new ScoreboardReplicationFollower(socket, input, scoreboard, frame.position());
+            follower.receiver.start();
+            return follower;
+        } catch (IOException exception) {
+            socket.close();
+            throw exception;
+        }
+    }
+
+    public List<SummarizedMatch> getSummary() {
+        return getSnapshot().matches();
+    }
+
+    public List<SummarizedMatch> getSummary(int offset, int limit) {
+        synchronized (scoreboard) {
+            return scoreboard.getSummary(offset, limit);
+        }
+    }
+
+    /**
+     * Returns the summary of the local copy, with the version of the local copy.
+     * Versions of the copy count the applied frames since joining, not the versions of the leader.
+     */
+    public SummarySnapshot getSnapshot() {
+        synchronized (scoreboard) {
+            return scoreboard.getSnapshot();
+        }
+    }
+
+    /**
+     * Returns the position of the leader log the copy has reached.
+     */
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    /**
+     * Waits until the copy reaches at least the given position of the leader log.
+     *
+     * @return true if the position was reached, false if the timeout passed or the connection was lost first
+     */
+    public synchronized boolean awaitPosition(long position, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (this.position < position && isConnected()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return this.position >= position;
+    }
+
+    public boolean isConnected() {
+        return receiver.isAlive() && failure == null;
+    }
+
+    /**
+     * Returns why the follower stopped following, or null if it is still connected or was closed.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private void receive() {
+        try {
+            while (true) {
+                ReplicationProtocol.Frame frame = ReplicationProtocol.read(input);
+                if (frame.type() != ReplicationProtocol.BATCH) throw new IOException("Expected a batch frame");
+                List<ScoreCommand> commands = frame.commands();
+                synchronized (scoreboard) {
+                    for (CommandResult result : scoreboard.applyBatch(commands)) {
+                        // the leader applied the same command to the same state, so the copy has diverged
+                        if (!result.isApplied())
+                            throw new IllegalStateException(
+                                    "Replicated command can't be applied: " + result.command(), result.error());
+                    }
+                }
+                synchronized (this) {
+                    position = frame.position();
+                    notifyAll();
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            if (!socket.isClosed()) failure = exception;
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nothing more to read either way
+            }
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,250 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A board streaming every change of a {@link LiveScoreboard} to {@link ScoreboardReplicationFollower}s over TCP.
+ * <p>
+ * The leader takes over the board it wraps: all operations have to go through the leader, which applies them
+ * one at a time and numbers the applied commands with consecutive log positions. A follower joining late first
+ * gets an image of all running matches at the current position, then every command applied after it.
+ * <p>
+ * Each follower is sent frames from its own thread, so a slow follower never holds up the board. A follower
+ * lagging more than {@value #FOLLOWER_QUEUE_SIZE} frames behind is disconnected and has to join again.
+ */
+public class ScoreboardReplicationLeader implements Scoreboard, Closeable {
+
+    static final int FOLLOWER_QUEUE_SIZE = 4096;
+
+    private final LiveScoreboard scoreboard;
+    private final ServerSocket serverSocket;
+    private final List<FollowerConnection> followers;
+    private final Thread acceptor;
+    // number of commands applied so far, guarded by this
+    private long position;
+    private volatile boolean closed;
+
+    private ScoreboardReplicationLeader(LiveScoreboard scoreboard, ServerSocket serverSocket) {
+        this.scoreboard = scoreboard;
+        this.serverSocket = serverSocket;
+        this.followers = new CopyOnWriteArrayList<>();
+        this.acceptor = Thread.ofVirtual().name("scoreboard-replication-acceptor").unstarted(this::accept);
+    }
+
+    /**
+     * Starts accepting followers on the given address, a port of 0 picks any free port.
+     *
+     * @throws IOException if the address can't be bound
+     */
+    static ScoreboardReplicationLeader listen(LiveScoreboard scoreboard, InetSocketAddress address)
+            throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(address);
+        } catch (IOException exception) {
+            serverSocket.close();
+            throw exception;
+        }
+        ScoreboardReplicationLeader leader = new ScoreboardReplicationLeader(scoreboard, serverSocket);
+        leader.acceptor.start();
+        return leader;
+    }
+
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * Returns the number of commands applied to the board since the leader took it over.
+     */
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    @Override
+    public synchronized List<SummarizedMatch> getSummary() {
+        return scoreboard.getSummary();
+    }
+
+    @Override
+    public synchronized List<SummarizedMatch> getSummary(int offset, int limit) {
+        return scoreboard.getSummary(offset, limit);
+    }
+
+    @Override
+    public synchronized SummarySnapshot getSnapshot() {
+        return scoreboard.getSnapshot();
+    }
+
+    @Override
+    public synchronized long getVersion() {
+        return scoreboard.getVersion();
+    }
+
+    @Override
+    public synchronized void start(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        scoreboard.start(homeTeam, awayTeam);
+        replicate(List.of(new ScoreCommand.Start(homeTeam, awayTeam)));
+    }
+
+    @Override
+    public synchronized void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        scoreboard.update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        replicate(List.of(new ScoreCommand.Update(homeTeam, awayTeam, homeTeamScore, awayTeamScore)));
+    }
+
+    @Override
+    public synchronized void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        scoreboard.finish(homeTeam, awayTeam);
+        replicate(List.of(new ScoreCommand.Finish(homeTeam, awayTeam)));
+    }
+
+    @Override
+    public synchronized ScoreOutcome tryStart(String homeTeam, String awayTeam) {
+        ScoreOutcome outcome = scoreboard.tryStart(homeTeam, awayTeam);
+        if (outcome == ScoreOutcome.OK) replicate(List.of(new ScoreCommand.Start(homeTeam, awayTeam)));
+        return outcome;
+    }
+
+    @Override
+    public synchronized ScoreOutcome tryUpdate(String homeTeam, String awayTeam,
+                                               int homeTeamScore, int awayTeamScore) {
+        ScoreOutcome outcome = scoreboard.tryUpdate(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        if (outcome == ScoreOutcome.OK)
+            replicate(List.of(new ScoreCommand.Update(homeTeam, awayTeam, homeTeamScore, awayTeamScore)));
+        return outcome;
+    }
+
+    @Override
+    public synchronized ScoreOutcome tryFinish(String homeTeam, String awayTeam) {
+        ScoreOutcome outcome = scoreboard.tryFinish(homeTeam, awayTeam);
+        if (outcome == ScoreOutcome.OK) replicate(List.of(new ScoreCommand.Finish(homeTeam, awayTeam)));
+        return outcome;
+    }
+
+    /**
+     * Applies the batch and sends its applied commands as a single frame,
+     * so followers apply them as a batch too.
+     */
+    @Override
+    public synchronized List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        List<CommandResult> results = scoreboard.applyBatch(commands);
+        List<ScoreCommand> applied = new ArrayList<>(results.size());
+        for (CommandResult result : results) {
+            if (result.isApplied()) applied.add(result.command());
+        }
+        if (!applied.isEmpty()) replicate(applied);
+        return results;
+    }
+
+    /**
+     * Stops accepting followers and disconnects the connected ones. The board itself stays usable.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (FollowerConnection follower : followers) {
+            follower.close();
+        }
+    }
+
+    private void replicate(List<ScoreCommand> commands) {
+        position += commands.size();
+        if (followers.isEmpty()) return;
+        byte[] frame = ReplicationProtocol.batchFrame(position, commands);
+        for (FollowerConnection follower : followers) {
+            follower.send(frame);
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                FollowerConnection follower;
+                // the image and the registration are taken at the same position, so no command is missed or repeated
+                synchronized (this) {
+                    byte[] snapshotFrame = ReplicationProtocol.snapshotFrame(position, scoreboard.encodeCheckpoint());
+                    follower = new FollowerConnection(socket, snapshotFrame);
+                    followers.add(follower);
+                }
+                follower.sender.start();
+            } catch (IOException exception) {
+                // the server socket was closed, or a follower failed to connect and can try again
+            }
+        }
+    }
+
+    private class FollowerConnection {
+
+        private final Socket socket;
+        private final BlockingQueue<byte[]> frames;
+        private final Thread sender;
+
+        FollowerConnection(Socket socket, byte[] snapshotFrame) {
+            this.socket = socket;
+            this.frames = new ArrayBlockingQueue<>(FOLLOWER_QUEUE_SIZE);
+            this.frames.add(snapshotFrame);
+            this.sender = Thread.ofVirtual().name("scoreboard-replication-sender").unstarted(this::run);
+        }
+
+        // called while holding the leader, never blocks
+        void send(byte[] frame) {
+            if (!frames.offer(frame)) close();
+        }
+
+        void close() {
+            followers.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // the follower is gone either way
+            }
+            sender.interrupt();
+        }
+
+        private void run() {
+            try (OutputStream output = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024)) {
+                while (!socket.isClosed()) {
+                    output.write(frames.take());
+                    // frames queued meanwhile go out with the same flush
+                    byte[] frame;
+                    while ((frame = frames.poll()) != null) {
+                        output.write(frame);
+                    }
+                    output.flush();
+                }
+            } catch (IOException | InterruptedException exception) {
+                // the follower disconnected or was disconnected
+            } finally {
+                close();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,353 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A scoreboard split into independent shards, for very many matches written by many threads.
+ * <p>
+ * Every team belongs to the shard its name hashes to, and a match is kept in the shard of its home team.
+ * Updates lock only that shard. Starting and finishing a match also lock the shard of the away team, which
+ * records the team as playing, so a team can't play two matches at once even across shards.
+ * <p>
+ * A summary locks all shards just long enough to copy the top of each, then merges the copies outside the locks.
+ * Order numbers come from a single counter, so matches are ordered exactly as on a {@link LiveScoreboard}.
+ */
+public class ShardedScoreboard implements Scoreboard {
+
+    private static final int DEFAULT_SHARDS = 16;
+
+    private final Shard[] shards;
+    private final MatchesComparator comparator;
+    // starts holding disjoint shards run at the same time, so they share an atomic counter
+    private final AtomicInteger nextMatchNo;
+    private final AtomicLong version;
+    // latest summary taken, readers share it until the next write
+    private final AtomicReference<SummarySnapshot> snapshot;
+
+    ShardedScoreboard() {
+        this(DEFAULT_SHARDS);
+    }
+
+    ShardedScoreboard(int shards) {
+        if (shards < 1) throw new IllegalArgumentException("Number of shards must be positive");
+        this.comparator = new MatchesComparator();
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard(i, comparator);
+        }
+        this.nextMatchNo = new AtomicInteger();
+        this.version = new AtomicLong();
+        this.snapshot = new AtomicReference<>();
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary() {
+        return getSnapshot().matches();
+    }
+
+    @Override
+    public List<SummarizedMatch> getSummary(int offset, int limit) {
+        SummarizedMatch.checkRange(offset, limit);
+        SummarySnapshot snapshot = this.snapshot.get();
+        if (snapshot != null && snapshot.version() == version.get())
+            return SummarizedMatch.page(snapshot.matches(), offset, limit);
+        return readSnapshot(offset, limit).matches();
+    }
+
+    @Override
+    public SummarySnapshot getSnapshot() {
+        SummarySnapshot snapshot = this.snapshot.get();
+        if (snapshot != null && snapshot.version() == version.get()) return snapshot;
+        SummarySnapshot newSnapshot = readSnapshot(0, Integer.MAX_VALUE);
+        return this.snapshot.updateAndGet(current ->
+                current == null || current.version() < newSnapshot.version() ? newSnapshot : current);
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public void start(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        Shard homeShard = shardOf(homeTeam);
+        Shard awayShard = shardOf(awayTeam);
+        lock(homeShard, awayShard);
+        try {
+            startLocked(homeTeam, awayTeam);
+            version.incrementAndGet();
+        } finally {
+            unlock(homeShard, awayShard);
+        }
+    }
+
+    @Override
+    public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+            throws LowerScoreException, MatchNotFoundException {
+        Shard homeShard = shardOf(homeTeam);
+        homeShard.lock.lock();
+        try {
+            homeShard.update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            version.incrementAndGet();
+        } finally {
+            homeShard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void finish(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        Shard homeShard = shardOf(homeTeam);
+        Shard awayShard = shardOf(awayTeam);
+        lock(homeShard, awayShard);
+        try {
+            finishLocked(homeTeam, awayTeam);
+            version.incrementAndGet();
+        } finally {
+            unlock(homeShard, awayShard);
+        }
+    }
+
+    /**
+     * Applies all commands while holding every shard, as a single write.
+     * Readers see the board either before or after the whole batch.
+     */
+    @Override
+    public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        lockAll();
+        try {
+            new LockedCommands().applyAll(commands, results);
+        } finally {
+            if (CommandResult.anyApplied(results)) version.incrementAndGet();
+            unlockAll();
+        }
+        return results;
+    }
+
+    // the *Locked methods expect the shards of both teams to be held
+
+    private void startLocked(String homeTeam, String awayTeam)
+            throws ClashingTeamsException, BlankTeamNameException {
+        StartRule.require(homeTeam, awayTeam, team -> shardOf(team).playingTeams.contains(team));
+        Shard homeShard = shardOf(homeTeam);
+        Shard awayShard = shardOf(awayTeam);
+        homeShard.playingTeams.add(homeTeam);
+        awayShard.playingTeams.add(awayTeam);
+        homeShard.add(new Match(homeTeam, awayTeam, nextMatchNo.getAndIncrement()));
+    }
+
+    private void finishLocked(String homeTeam, String awayTeam) throws MatchNotFoundException {
+        Shard homeShard = shardOf(homeTeam);
+        homeShard.remove(homeShard.find(homeTeam, awayTeam));
+        homeShard.playingTeams.remove(homeTeam);
+        shardOf(awayTeam).playingTeams.remove(awayTeam);
+    }
+
+    List<Match> getMatches() {
+        List<Match> matches = new ArrayList<>();
+        lockAll();
+        try {
+            for (Shard shard : shards) {
+                matches.addAll(shard.top(Integer.MAX_VALUE));
+            }
+        } finally {
+            unlockAll();
+        }
+        matches.sort(comparator);
+        return matches;
+    }
+
+    private SummarySnapshot readSnapshot(int offset, int limit) {
+        // the merged page can only hold matches within the first offset + limit of each shard
+        int perShard = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        List<List<Match>> shardMatches = new ArrayList<>(shards.length);
+        long snapshotVersion;
+        lockAll();
+        try {
+            snapshotVersion = version.get();
+            for (Shard shard : shards) {
+                shardMatches.add(shard.top(perShard));
+            }
+        } finally {
+            unlockAll();
+        }
+        return new SummarySnapshot(snapshotVersion, SummarizedMatch.summarize(merge(shardMatches), offset, limit));
+    }
+
+    // k-way merge of lists each in summary order, taking the next match from whichever list has the preceding one
+    private Iterable<Match> merge(List<List<Match>> sortedLists) {
+        return () -> new Iterator<>() {
+
+            private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                    (first, second) -> comparator.compare(first.current, second.current));
+
+            {
+                for (List<Match> sortedList : sortedLists) {
+                    Iterator<Match> matches = sortedList.iterator();
+                    if (matches.hasNext()) cursors.add(new Cursor(matches.next(), matches));
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Match next() {
+                Cursor cursor = cursors.remove();
+                Match match = cursor.current;
+                if (cursor.rest.hasNext()) {
+                    cursor.current = cursor.rest.next();
+                    cursors.add(cursor);
+                }
+                return match;
+            }
+
+        };
+    }
+
+    private Shard shardOf(String team) {
+        int hash = team == null ? 0 : team.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    // shards are always locked in index order, so writers and readers can't deadlock
+    private void lock(Shard homeShard, Shard awayShard) {
+        if (homeShard == awayShard) {
+            homeShard.lock.lock();
+        } else if (homeShard.index < awayShard.index) {
+            homeShard.lock.lock();
+            awayShard.lock.lock();
+        } else {
+            awayShard.lock.lock();
+            homeShard.lock.lock();
+        }
+    }
+
+    private void unlock(Shard homeShard, Shard awayShard) {
+        homeShard.lock.unlock();
+        if (homeShard != awayShard) awayShard.lock.unlock();
+    }
+
+    private void lockAll() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = shards.length - 1; i >= 0; i--) {
+            shards[i].lock.unlock();
+        }
+    }
+
+    // applies the commands of a batch while all shards are held
+    private class LockedCommands implements ScoreCommandHandler {
+
+        @Override
+        public void start(String homeTeam, String awayTeam) {
+            startLocked(homeTeam, awayTeam);
+        }
+
+        @Override
+        public void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+            shardOf(homeTeam).update(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        }
+
+        @Override
+        public void finish(String homeTeam, String awayTeam) {
+            finishLocked(homeTeam, awayTeam);
+        }
+
+    }
+
+    private static class Cursor {
+
+        private Match current;
+        private final Iterator<Match> rest;
+
+        Cursor(Match current, Iterator<Match> rest) {
+            this.current = current;
+            this.rest = rest;
+        }
+
+    }
+
+    // matches of the home teams hashed to the shard, and all of its teams currently playing either at home or away;
+    // all fields are guarded by the lock
+    private static class Shard {
+
+        private final int index;
+        private final ReentrantLock lock;
+        private final Set<String> playingTeams;
+        private final Map<String, Match> matchesByHomeTeam;
+        // matches are never mutated once added, an update replaces the match, so copies can be read unlocked
+        private final NavigableSet<Match> rankedMatches;
+
+        Shard(int index, MatchesComparator comparator) {
+            this.index = index;
+            this.lock = new ReentrantLock();
+            this.playingTeams = new HashSet<>();
+            this.matchesByHomeTeam = new HashMap<>();
+            this.rankedMatches = new TreeSet<>(comparator);
+        }
+
+        Match find(String homeTeam, String awayTeam) throws MatchNotFoundException {
+            Match match = matchesByHomeTeam.get(homeTeam);
+            if (match == null || !match.isMatchOfTeams(homeTeam, awayTeam))
+                throw new MatchNotFoundException("Match not found");
+            return match;
+        }
+
+        void add(Match match) {
+            matchesByHomeTeam.put(match.getHomeTeam(), match);
+            rankedMatches.add(match);
+        }
+
+        void remove(Match match) {
+            matchesByHomeTeam.remove(match.getHomeTeam());
+            rankedMatches.remove(match);
+        }
+
+        void update(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore)
+                throws LowerScoreException, MatchNotFoundException {
+            Match match = find(homeTeam, awayTeam);
+            if (!match.isNotLowerScore(homeTeamScore, awayTeamScore))
+                throw new LowerScoreException("Score can't be lowered");
+            remove(match);
+            add(new Match(homeTeam, awayTeam, homeTeamScore, awayTeamScore, match.getOrderNo()));
+        }
+
+        List<Match> top(int limit) {
+            List<Match> matches = new ArrayList<>(Math.min(limit, rankedMatches.size()));
+            for (Match match : rankedMatches) {
+                if (matches.size() == limit) break;
+                matches.add(match);
+            }
+            return Collections.unmodifiableList(matches);
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.ScoreboardException;
+
+import java.util.function.Predicate;
+
+/**
+ * The rules of starting a match, in the order they are checked. Every board and the bulk loader check them
+ * here, so the rules and their messages can't drift apart; each only tells which teams are playing.
+ */
+enum StartRule {
+
+    HOME_TEAM_NAMED("Home team name is empty"),
+    AWAY_TEAM_NAMED("Away team name is empty"),
+    DIFFERENT_TEAMS("A team can't play a match against itself"),
+    TEAMS_FREE("Team already playing");
+
+    private final String violation;
+
+    StartRule(String violation) {
+        this.violation = violation;
+    }
+
+    // the first rule a match of the teams breaks, or null if it can be started
+    static StartRule check(String homeTeam, String awayTeam, Predicate<String> isPlaying) {
+        if (homeTeam == null || homeTeam.isBlank()) return HOME_TEAM_NAMED;
+        if (awayTeam == null || awayTeam.isBlank()) return AWAY_TEAM_NAMED;
+        if (homeTeam.equals(awayTeam)) return DIFFERENT_TEAMS;
+        if (isPlaying.test(homeTeam) || isPlaying.test(awayTeam)) return TEAMS_FREE;
+        return null;
+    }
+
+    static void require(String homeTeam, String awayTeam, Predicate<String> isPlaying)
+            throws ClashingTeamsException, BlankTeamNameException {
+        StartRule broken = check(homeTeam, awayTeam, isPlaying);
+        if (broken != null) throw broken.exception();
+    }
+
+    String violation() {
+        return violation;
+    }
+
+    ScoreboardException exception() {
+        return isAboutNames() ? new BlankTeamNameException(violation) : new ClashingTeamsException(violation);
+    }
+
+    ScoreOutcome outcome() {
+        return isAboutNames() ? ScoreOutcome.BLANK_NAME : ScoreOutcome.CLASHING;
+    }
+
+    private boolean isAboutNames() {
+        return this == HOME_TEAM_NAMED || this == AWAY_TEAM_NAMED;
+    }
+
+}
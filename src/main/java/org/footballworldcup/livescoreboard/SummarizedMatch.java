@@ -1,8 +1,39 @@
 package org.footballworldcup.livescoreboard;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
 public record SummarizedMatch(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
     @Override
     public String toString() {
         return String.format("%s %d - %s %d", homeTeam, homeTeamScore, awayTeam, awayTeamScore());
     }
+
+    // summarizes at most limit matches following the first offset matches, walking only as far as needed
+    static List<SummarizedMatch> summarize(Iterable<Match> rankedMatches, int offset, int limit) {
+        List<SummarizedMatch> summary = new ArrayList<>();
+        Iterator<Match> matchIter = rankedMatches.iterator();
+        for (int skipped = 0; skipped < offset && matchIter.hasNext(); skipped++) {
+            matchIter.next();
+        }
+        while (summary.size() < limit && matchIter.hasNext()) {
+            Match match = matchIter.next();
+            summary.add(new SummarizedMatch(
+                    match.getHomeTeam(), match.getAwayTeam(), match.getHomeTeamScore(), match.getAwayTeamScore()));
+        }
+        return Collections.unmodifiableList(summary);
+    }
+
+    static void checkRange(int offset, int limit) {
+        if (offset < 0) throw new IllegalArgumentException("Offset can't be negative");
+        if (limit < 0) throw new IllegalArgumentException("Limit can't be negative");
+    }
+
+    // a page of an already built summary, as a view without copying
+    static List<SummarizedMatch> page(List<SummarizedMatch> summary, int offset, int limit) {
+        int from = Math.min(offset, summary.size());
+        return summary.subList(from, from + Math.min(limit, summary.size() - from));
+    }
 }
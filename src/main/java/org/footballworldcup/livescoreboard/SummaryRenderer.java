@@ -0,0 +1,119 @@
+package org.footballworldcup.livescoreboard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a whole summary as text, one match per line, each line ending with {@code '\n'}.
+ * Every line is the same as {@link SummarizedMatch#toString()} of its match, but is written without
+ * {@link String#format}, either into a given {@link StringBuilder} or as UTF-8 bytes into a buffer reused
+ * from one rendering to the next.
+ * <p>
+ * A renderer is not thread-safe, each thread pushing summaries should use its own.
+ */
+public class SummaryRenderer {
+
+    private static final byte[] SEPARATOR = " - ".getBytes(StandardCharsets.US_ASCII);
+    // a score takes at most 11 bytes, so a line takes at most this much besides the team names
+    private static final int MAX_LINE_OVERHEAD = 2 * 12 + SEPARATOR.length + 1;
+    // the cache is dropped when it grows past this, so renaming teams can't make it grow forever
+    private static final int MAX_CACHED_NAMES = 4096;
+
+    private final Map<String, byte[]> encodedNames;
+    private ByteBuffer buffer;
+
+    SummaryRenderer() {
+        this.encodedNames = new HashMap<>();
+        this.buffer = ByteBuffer.allocate(4096);
+    }
+
+    /**
+     * Appends the rendered summary to the given builder.
+     */
+    public StringBuilder render(List<SummarizedMatch> summary, StringBuilder out) {
+        for (SummarizedMatch match : summary) {
+            out.append(match.homeTeam()).append(' ').append(match.homeTeamScore()).append(" - ")
+                    .append(match.awayTeam()).append(' ').append(match.awayTeamScore()).append('\n');
+        }
+        return out;
+    }
+
+    /**
+     * Renders the summary as UTF-8 bytes.
+     *
+     * @return a buffer ready to be read, owned by the renderer and overwritten by its next rendering
+     */
+    public ByteBuffer encode(List<SummarizedMatch> summary) {
+        buffer.clear();
+        for (SummarizedMatch match : summary) {
+            byte[] homeTeam = encodedName(match.homeTeam());
+            byte[] awayTeam = encodedName(match.awayTeam());
+            ensureRemaining(homeTeam.length + awayTeam.length + MAX_LINE_OVERHEAD);
+            buffer.put(homeTeam).put((byte) ' ');
+            putScore(match.homeTeamScore());
+            buffer.put(SEPARATOR).put(awayTeam).put((byte) ' ');
+            putScore(match.awayTeamScore());
+            buffer.put((byte) '\n');
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Renders the summary as UTF-8 bytes and writes all of them to the channel.
+     */
+    public void write(List<SummarizedMatch> summary, WritableByteChannel channel) throws IOException {
+        ByteBuffer encoded = encode(summary);
+        while (encoded.hasRemaining()) {
+            channel.write(encoded);
+        }
+    }
+
+    private byte[] encodedName(String name) {
+        byte[] encoded = encodedNames.get(name);
+        if (encoded == null) {
+            if (encodedNames.size() == MAX_CACHED_NAMES) encodedNames.clear();
+            encoded = String.valueOf(name).getBytes(StandardCharsets.UTF_8);
+            encodedNames.put(name, encoded);
+        }
+        return encoded;
+    }
+
+    // writes the decimal digits straight into the buffer, without going through a string
+    private void putScore(int score) {
+        if (score < 0) {
+            if (score == Integer.MIN_VALUE) {
+                buffer.put(Integer.toString(score).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            buffer.put((byte) '-');
+            score = -score;
+        }
+        int end = buffer.position() + digitsOf(score);
+        for (int position = end - 1; position >= buffer.position(); position--) {
+            buffer.put(position, (byte) ('0' + score % 10));
+            score /= 10;
+        }
+        buffer.position(end);
+    }
+
+    private static int digitsOf(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer = grown.put(buffer.flip());
+    }
+
+}
@@ -0,0 +1,12 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.List;
+
+/**
+ * An immutable summary of the board as it was at the given version.
+ *
+ * @param version the version of the board the summary was taken at
+ * @param matches the summarized matches, ordered as in {@link Scoreboard#getSummary()}
+ */
+public record SummarySnapshot(long version, List<SummarizedMatch> matches) {
+}
@@ -0,0 +1,17 @@
+package org.footballworldcup.livescoreboard;
+
+/**
+ * Receives the running matches of a board one by one, in summary order, as plain values,
+ * so walking the summary creates no object per match.
+ */
+@FunctionalInterface
+public interface SummaryVisitor {
+
+    /**
+     * @param rank the position of the match in the summary, starting from 0
+     * @param homeTeam the home team, with the id the board knows it by
+     * @param awayTeam the away team, with the id the board knows it by
+     */
+    void visit(int rank, TeamId homeTeam, TeamId awayTeam, int homeTeamScore, int awayTeamScore);
+
+}
@@ -0,0 +1,11 @@
+package org.footballworldcup.livescoreboard;
+
+/**
+ * A team name resolved once by {@link LiveScoreboard#team(String)}, to be passed to the board operations
+ * taking team ids. Ids are dense and valid only on the board that issued them.
+ *
+ * @param id the number of the team on its board
+ * @param name the name of the team
+ */
+public record TeamId(int id, String name) {
+}
@@ -0,0 +1,49 @@
+package org.footballworldcup.livescoreboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// interns team names to dense ids, so that running matches can be looked up by array index
+class TeamRegistry {
+
+    private final Map<String, TeamId> teamsByName;
+    private TeamId[] teams;
+    private int size;
+
+    TeamRegistry() {
+        this.teamsByName = new HashMap<>();
+        this.teams = new TeamId[16];
+        this.size = 0;
+    }
+
+    TeamId register(String name) {
+        TeamId team = teamsByName.get(name);
+        if (team != null) return team;
+        if (size == teams.length) teams = Arrays.copyOf(teams, size * 2);
+        team = new TeamId(size, name);
+        teams[size] = team;
+        size += 1;
+        teamsByName.put(name, team);
+        return team;
+    }
+
+    // null if the name was never registered
+    TeamId find(String name) {
+        return teamsByName.get(name);
+    }
+
+    TeamId get(int id) {
+        return teams[id];
+    }
+
+    // ids are only compared as ints, so an id of another board must not get past this check
+    boolean isRegistered(TeamId team) {
+        return team != null && team.id() >= 0 && team.id() < size && teams[team.id()] == team;
+    }
+
+    int size() {
+        return size;
+    }
+
+}
@@ -1,6 +1,6 @@
 package org.footballworldcup.livescoreboard.exceptions;
 
-public class BlankTeamNameException extends IllegalArgumentException {
+public class BlankTeamNameException extends ScoreboardException {
     public BlankTeamNameException(String errorMessage) {
         super(errorMessage);
     }
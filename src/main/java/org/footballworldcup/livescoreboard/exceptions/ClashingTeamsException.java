@@ -1,6 +1,6 @@
 package org.footballworldcup.livescoreboard.exceptions;
 
-public class ClashingTeamsException extends IllegalArgumentException {
+public class ClashingTeamsException extends ScoreboardException {
     public ClashingTeamsException(String errorMessage) {
         super(errorMessage);
     }
@@ -1,6 +1,6 @@
 package org.footballworldcup.livescoreboard.exceptions;
 
-public class LowerScoreException extends IllegalArgumentException {
+public class LowerScoreException extends ScoreboardException {
     public LowerScoreException(String errorMessage) {
         super(errorMessage);
     }
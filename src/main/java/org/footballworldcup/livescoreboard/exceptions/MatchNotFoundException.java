@@ -1,6 +1,6 @@
 package org.footballworldcup.livescoreboard.exceptions;
 
-public class MatchNotFoundException extends IllegalArgumentException {
+public class MatchNotFoundException extends ScoreboardException {
     public MatchNotFoundException(String errorMessage) {
         super(errorMessage);
     }
@@ -0,0 +1,21 @@
+package org.footballworldcup.livescoreboard.exceptions;
+
+/**
+ * Base of the exceptions rejecting invalid input to a scoreboard.
+ * Rejections are expected at high rates and always describe the input rather than the caller, so by default
+ * they don't capture a stack trace. Set the system property
+ * {@code org.footballworldcup.livescoreboard.stackTraces} to {@code true} to capture them while debugging.
+ */
+public class ScoreboardException extends IllegalArgumentException {
+
+    private static final boolean STACK_TRACES = Boolean.getBoolean("org.footballworldcup.livescoreboard.stackTraces");
+
+    public ScoreboardException(String errorMessage) {
+        super(errorMessage);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return STACK_TRACES ? super.fillInStackTrace() : this;
+    }
+}
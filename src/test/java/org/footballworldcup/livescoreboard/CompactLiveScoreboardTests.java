@@ -0,0 +1,143 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.BlankTeamNameException;
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertThrows;
+
+public class CompactLiveScoreboardTests {
+
+    @Test
+    public void start_whenTeamAlreadyPlaying_shouldThrowException() {
+        CompactLiveScoreboard scoreboard = new CompactLiveScoreboard();
+        scoreboard.start("Home", "Away");
+
+        Exception exception = assertThrows(ClashingTeamsException.class, () -> {
+            scoreboard.start("Away", "Away2");
+        });
+
+        Assert.assertEquals("Team already playing", exception.getMessage());
+        Assert.assertEquals(1, scoreboard.getSummary().size());
+    }
+
+    @Test
+    public void start_whenAwayTeamNameBlank_shouldThrowException() {
+        CompactLiveScoreboard scoreboard = new CompactLiveScoreboard();
+
+        Exception exception = assertThrows(BlankTeamNameException.class, () -> {
+            scoreboard.start("Home", null);
+        });
+
+        Assert.assertEquals("Away team name is empty", exception.getMessage());
+    }
+
+    @Test
+    public void update_whenMatchOfTeamsNotRunning_shouldThrowException() {
+        CompactLiveScoreboard scoreboard = new CompactLiveScoreboard();
+        scoreboard.start("Home", "Away2");
+        scoreboard.start("Home2", "Away");
+
+        Exception exception = assertThrows(MatchNotFoundException.class, () -> {
+            scoreboard.update("Home", "Away", 1, 0);
+        });
+
+        Assert.assertEquals("Match not found", exception.getMessage());
+    }
+
+    @Test
+    public void update_whenScoreLowered_shouldThrowException() {
+        CompactLiveScoreboard scoreboard = new CompactLiveScoreboard();
+        scoreboard.start("Home", "Away");
+        scoreboard.update("Home", "Away", 2, 1);
+
+        Exception exception = assertThrows(LowerScoreException.class, () -> {
+            scoreboard.update("Home", "Away", 1, 1);
+        });
+
+        Assert.assertEquals("Score can't be lowered", exception.getMessage());
+    }
+
+    @Test
+    public void start_whenMatchesFinishedBefore_shouldReuseTheirSlots() {
+        CompactLiveScoreboard scoreboard = new CompactLiveScoreboard();
+        for (int i = 0; i < 16; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+        }
+        int capacity = scoreboard.getCapacity();
+
+        for (int round = 0; round < 100; round++) {
+            scoreboard.finish("Home" + round % 16, "Away" + round % 16);
+            scoreboard.start("Home" + round % 16, "Away" + round % 16);
+        }
+
+        Assert.assertEquals(capacity, scoreboard.getCapacity());
+        Assert.assertEquals(16, scoreboard.getSummary().size());
+    }
+
+    @Test
+    public void getSummary_whenRandomCommandsApplied_shouldMatchLiveScoreboard() {
+        Scoreboard compact = new CompactLiveScoreboard();
+        Scoreboard live = new LiveScoreboard();
+        Random random = new Random(42);
+        int teams = 200;
+        int[][] scores = new int[teams][2];
+
+        for (int i = 0; i < 20_000; i++) {
+            int team = random.nextInt(teams);
+            String homeTeam = "Home" + team;
+            String awayTeam = "Away" + team;
+            List<ScoreCommand> commands = new ArrayList<>();
+            switch (random.nextInt(4)) {
+                case 0 -> commands.add(new ScoreCommand.Start(homeTeam, awayTeam));
+                case 1 -> commands.add(new ScoreCommand.Finish(homeTeam, awayTeam));
+                default -> {
+                    // mostly growing scores, sometimes a lowered one
+                    scores[team][random.nextInt(2)] += random.nextInt(3);
+                    int homeTeamScore = random.nextInt(10) == 0 ? 0 : scores[team][0];
+                    commands.add(new ScoreCommand.Update(homeTeam, awayTeam, homeTeamScore, scores[team][1]));
+                }
+            }
+            if (random.nextBoolean()) {
+                Assert.assertEquals(results(live.applyBatch(commands)), results(compact.applyBatch(commands)));
+            } else {
+                Assert.assertEquals(apply(live, commands.getFirst()), apply(compact, commands.getFirst()));
+            }
+            if (i % 500 == 0) Assert.assertEquals(live.getSummary(), compact.getSummary());
+        }
+
+        Assert.assertEquals(live.getSummary(), compact.getSummary());
+        Assert.assertEquals(live.getSummary(10, 20), compact.getSummary(10, 20));
+        Assert.assertEquals(live.getVersion(), compact.getVersion());
+    }
+
+    private static List<String> results(List<CommandResult> results) {
+        List<String> errors = new ArrayList<>();
+        for (CommandResult result : results) {
+            errors.add(result.isApplied() ? null : result.error().getMessage());
+        }
+        return errors;
+    }
+
+    private static String apply(Scoreboard scoreboard, ScoreCommand command) {
+        try {
+            switch (command) {
+                case ScoreCommand.Start start -> scoreboard.start(start.homeTeam(), start.awayTeam());
+                case ScoreCommand.Update update -> scoreboard.update(update.homeTeam(), update.awayTeam(),
+                        update.homeTeamScore(), update.awayTeamScore());
+                case ScoreCommand.Finish finish -> scoreboard.finish(finish.homeTeam(), finish.awayTeam());
+            }
+            return null;
+        } catch (IllegalArgumentException exception) {
+            return exception.getMessage();
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrentLiveScoreboardTests {
+
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+
+    @Test
+    public void start_whenTeamAlreadyPlaying_shouldThrowException() {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        scoreboard.start("Home", "Away");
+
+        Exception exception = assertThrows(ClashingTeamsException.class, () -> {
+            scoreboard.start("Away", "Away2");
+        });
+
+        Assert.assertEquals("Team already playing", exception.getMessage());
+    }
+
+    @Test
+    public void update_whenMatchOfTeamsNotRunning_shouldThrowException() {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        scoreboard.start("Home", "Away2");
+        scoreboard.start("Home2", "Away");
+
+        Exception exception = assertThrows(MatchNotFoundException.class, () -> {
+            scoreboard.update("Home", "Away", 1, 0);
+        });
+
+        Assert.assertEquals("Match not found", exception.getMessage());
+    }
+
+    @Test
+    public void update_whenScoreLowered_shouldThrowException() {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        scoreboard.start("Home", "Away");
+        scoreboard.update("Home", "Away", 2, 1);
+
+        Exception exception = assertThrows(LowerScoreException.class, () -> {
+            scoreboard.update("Home", "Away", 1, 1);
+        });
+
+        Assert.assertEquals("Score can't be lowered", exception.getMessage());
+    }
+
+    @Test
+    public void getSummary_whenMatchesGiven_shouldBeOrderedLikeLiveScoreboard() {
+        Scoreboard concurrent = new ConcurrentLiveScoreboard();
+        Scoreboard live = new LiveScoreboard();
+
+        for (Scoreboard scoreboard : List.of(concurrent, live)) {
+            scoreboard.start("Mexico", "Canada");
+            scoreboard.start("Spain", "Brazil");
+            scoreboard.start("Germany", "France");
+            scoreboard.update("Mexico", "Canada", 0, 5);
+            scoreboard.update("Spain", "Brazil", 3, 2);
+            scoreboard.update("Germany", "France", 2, 2);
+            scoreboard.finish("Germany", "France");
+        }
+
+        Assert.assertEquals(live.getSummary(), concurrent.getSummary());
+    }
+
+    @Test
+    public void getSnapshot_whenNoWriteCompletedSinceLastRead_shouldReturnSameSnapshot() {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        scoreboard.start("Home", "Away");
+
+        SummarySnapshot first = scoreboard.getSnapshot();
+        SummarySnapshot second = scoreboard.getSnapshot();
+        scoreboard.update("Home", "Away", 1, 0);
+        SummarySnapshot third = scoreboard.getSnapshot();
+
+        Assert.assertSame(first, second);
+        Assert.assertNotSame(second, third);
+        Assert.assertEquals(scoreboard.getVersion(), third.version());
+        Assert.assertFalse(scoreboard.hasChangedSince(third.version()));
+        Assert.assertTrue(scoreboard.hasChangedSince(first.version()));
+    }
+
+    @Test
+    public void start_whenManyThreadsStartMatchesOfSameTeam_shouldStartExactlyOne() throws Exception {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        AtomicInteger started = new AtomicInteger();
+
+        runConcurrently(WRITERS, writer -> {
+            for (int i = 0; i < 100; i++) {
+                try {
+                    scoreboard.start("Home", "Away" + writer + "-" + i);
+                    started.incrementAndGet();
+                } catch (ClashingTeamsException ignored) {
+                    // expected for all but one of the attempts
+                }
+            }
+        });
+
+        Assert.assertEquals(1, started.get());
+        Assert.assertEquals(1, scoreboard.getSummary().size());
+    }
+
+    @Test
+    public void writes_whenThreadsWorkOnDisjointTeams_shouldAllBeApplied() throws Exception {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard(4);
+        int matchesPerWriter = 50;
+        int goals = 20;
+
+        runConcurrently(WRITERS, writer -> {
+            for (int i = 0; i < matchesPerWriter; i++) {
+                String homeTeam = "Home" + writer + "-" + i;
+                String awayTeam = "Away" + writer + "-" + i;
+                scoreboard.start(homeTeam, awayTeam);
+                for (int goal = 1; goal <= goals; goal++) {
+                    scoreboard.update(homeTeam, awayTeam, goal, 0);
+                }
+                // every other match is finished again
+                if (i % 2 == 0) scoreboard.finish(homeTeam, awayTeam);
+            }
+        });
+
+        List<SummarizedMatch> summary = scoreboard.getSummary();
+        Assert.assertEquals(WRITERS * matchesPerWriter / 2, summary.size());
+        for (SummarizedMatch match : summary) {
+            Assert.assertEquals(goals, match.homeTeamScore());
+        }
+    }
+
+    @Test
+    public void getSummary_whenReadDuringWrites_shouldAlwaysReturnConsistentState() throws Exception {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<String> violations = new ArrayList<>();
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> readResults = new ArrayList<>();
+        for (int reader = 0; reader < READERS; reader++) {
+            readResults.add(readers.submit(() -> {
+                while (writing.get()) {
+                    String violation = findViolation(scoreboard.getSummary());
+                    if (violation != null) {
+                        synchronized (violations) {
+                            violations.add(violation);
+                        }
+                    }
+                }
+            }));
+        }
+
+        // every writer keeps its own match level at all times,
+        // so a torn read would show up as a duplicate team, a wrong order or uneven scores
+        runConcurrently(WRITERS, writer -> {
+            for (int round = 0; round < 200; round++) {
+                String homeTeam = "Home" + writer;
+                String awayTeam = "Away" + writer;
+                scoreboard.start(homeTeam, awayTeam);
+                for (int goal = 1; goal <= 5; goal++) {
+                    scoreboard.update(homeTeam, awayTeam, goal, goal);
+                }
+                scoreboard.finish(homeTeam, awayTeam);
+            }
+        });
+        writing.set(false);
+        for (Future<?> readResult : readResults) {
+            readResult.get(30, TimeUnit.SECONDS);
+        }
+        readers.shutdown();
+
+        Assert.assertEquals(List.of(), violations);
+        Assert.assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    public void getSummary_whenMatchesStartedConcurrently_shouldNeverSkipEarlierStartedMatch() throws Exception {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger violations = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                // every writer starts its matches one after another, so a consistent state holding
+                // a writer's i-th match holds all of its earlier matches too
+                int[] matchesOfWriter = new int[WRITERS];
+                int[] latestOfWriter = new int[WRITERS];
+                for (SummarizedMatch match : scoreboard.getSummary()) {
+                    String[] writerAndNo = match.homeTeam().substring("Home".length()).split("-");
+                    int writer = Integer.parseInt(writerAndNo[0]);
+                    matchesOfWriter[writer] += 1;
+                    latestOfWriter[writer] = Math.max(latestOfWriter[writer], Integer.parseInt(writerAndNo[1]));
+                }
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    if (matchesOfWriter[writer] > 0 && matchesOfWriter[writer] != latestOfWriter[writer] + 1)
+                        violations.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        runConcurrently(WRITERS, writer -> {
+            for (int i = 0; i < 200; i++) {
+                scoreboard.start("Home" + writer + "-" + i, "Away" + writer + "-" + i);
+            }
+        });
+        writing.set(false);
+        reader.join();
+
+        Assert.assertEquals(0, violations.get());
+        Assert.assertEquals(WRITERS * 200, scoreboard.getSummary().size());
+    }
+
+    @Test
+    public void getSummary_whenReadDuringBatches_shouldSeeWholeBatchesOnly() throws Exception {
+        ConcurrentLiveScoreboard scoreboard = new ConcurrentLiveScoreboard();
+        int matches = 10;
+        for (int i = 0; i < matches; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger violations = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                // each batch scores one goal in every match, so all matches always have the same score
+                List<SummarizedMatch> summary = scoreboard.getSummary();
+                for (SummarizedMatch match : summary) {
+                    if (match.homeTeamScore() != summary.getFirst().homeTeamScore()) violations.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        for (int goal = 1; goal <= 500; goal++) {
+            List<ScoreCommand> commands = new ArrayList<>();
+            for (int i = 0; i < matches; i++) {
+                commands.add(new ScoreCommand.Update("Home" + i, "Away" + i, goal, 0));
+            }
+            scoreboard.applyBatch(commands);
+        }
+        writing.set(false);
+        reader.join();
+
+        Assert.assertEquals(0, violations.get());
+    }
+
+    private static String findViolation(List<SummarizedMatch> summary) {
+        Set<String> teams = new HashSet<>();
+        int previousTotalScore = Integer.MAX_VALUE;
+        for (SummarizedMatch match : summary) {
+            if (!teams.add(match.homeTeam()) || !teams.add(match.awayTeam())) return "Duplicate team in " + summary;
+            if (match.homeTeamScore() != match.awayTeamScore()) return "Torn score in " + summary;
+            int totalScore = match.homeTeamScore() + match.awayTeamScore();
+            if (totalScore > previousTotalScore) return "Wrong order in " + summary;
+            previousTotalScore = totalScore;
+        }
+        return null;
+    }
+
+    private static void runConcurrently(int threads, WriterTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int writer = thread;
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                task.run(writer);
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface WriterTask {
+        void run(int writer);
+    }
+
+}
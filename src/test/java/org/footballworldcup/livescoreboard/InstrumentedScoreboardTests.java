@@ -0,0 +1,181 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.LowerScoreException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertThrows;
+
+public class InstrumentedScoreboardTests {
+
+    @Test
+    public void operations_whenApplied_shouldBeCountedWithErrorsByType() {
+        InstrumentedScoreboard scoreboard = new InstrumentedScoreboard(new LiveScoreboard(), 1);
+        ScoreboardMetrics metrics = scoreboard.getMetrics();
+
+        scoreboard.start("Home", "Away");
+        scoreboard.start("Home2", "Away2");
+        scoreboard.update("Home", "Away", 1, 0);
+        assertThrows(LowerScoreException.class, () -> scoreboard.update("Home", "Away", 0, 0));
+        assertThrows(MatchNotFoundException.class, () -> scoreboard.finish("Home", "Away2"));
+        scoreboard.finish("Home2", "Away2");
+        scoreboard.getSummary();
+        scoreboard.applyBatch(List.of(
+                new ScoreCommand.Start("Home3", "Away3"),
+                new ScoreCommand.Start("Home3", "Away4"),
+                new ScoreCommand.Finish("Home", "Away")));
+
+        Assert.assertEquals(2, metrics.getStartCount());
+        Assert.assertEquals(2, metrics.getUpdateCount());
+        Assert.assertEquals(2, metrics.getFinishCount());
+        Assert.assertEquals(1, metrics.getSummaryCount());
+        Assert.assertEquals(1, metrics.getBatchCount());
+        Assert.assertEquals(1, metrics.getLowerScoreErrors());
+        Assert.assertEquals(1, metrics.getMatchNotFoundErrors());
+        Assert.assertEquals(1, metrics.getClashingTeamsErrors());
+        Assert.assertEquals(0, metrics.getBlankTeamNameErrors());
+        Assert.assertEquals(1, metrics.getRunningMatches());
+        Assert.assertTrue(metrics.getUpdateLatencyP999() >= metrics.getUpdateLatencyP50());
+        Assert.assertTrue(metrics.getUpdateLatencyP50() > 0);
+    }
+
+    @Test
+    public void tryOperations_whenApplied_shouldDelegateAndBeCountedWithErrorsByType() {
+        List<String> delegated = new ArrayList<>();
+        InstrumentedScoreboard scoreboard = new InstrumentedScoreboard(new LiveScoreboard() {
+            @Override
+            public ScoreOutcome tryStart(String homeTeam, String awayTeam) {
+                delegated.add("tryStart");
+                return super.tryStart(homeTeam, awayTeam);
+            }
+
+            @Override
+            public ScoreOutcome tryUpdate(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+                delegated.add("tryUpdate");
+                return super.tryUpdate(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            }
+
+            @Override
+            public ScoreOutcome tryFinish(String homeTeam, String awayTeam) {
+                delegated.add("tryFinish");
+                return super.tryFinish(homeTeam, awayTeam);
+            }
+        }, 1);
+        ScoreboardMetrics metrics = scoreboard.getMetrics();
+
+        scoreboard.tryStart("Home", "Away");
+        scoreboard.tryStart("Home", "Other");
+        scoreboard.tryStart(" ", "Other");
+        scoreboard.tryUpdate("Home", "Away", 1, 0);
+        scoreboard.tryUpdate("Home", "Away", 0, 0);
+        scoreboard.tryFinish("Home", "Other");
+        scoreboard.tryFinish("Home", "Away");
+
+        Assert.assertEquals(List.of("tryStart", "tryStart", "tryStart", "tryUpdate", "tryUpdate",
+                "tryFinish", "tryFinish"), delegated);
+        Assert.assertEquals(3, metrics.getStartCount());
+        Assert.assertEquals(2, metrics.getUpdateCount());
+        Assert.assertEquals(2, metrics.getFinishCount());
+        Assert.assertEquals(1, metrics.getClashingTeamsErrors());
+        Assert.assertEquals(1, metrics.getBlankTeamNameErrors());
+        Assert.assertEquals(1, metrics.getLowerScoreErrors());
+        Assert.assertEquals(1, metrics.getMatchNotFoundErrors());
+        Assert.assertEquals(0, metrics.getRunningMatches());
+        Assert.assertEquals(3, metrics.startLatency.getCount());
+    }
+
+    @Test
+    public void applyBatch_whenBoardThrows_shouldStillCountAndTimeBatch() {
+        IllegalStateException failure = new IllegalStateException("Board failed");
+        InstrumentedScoreboard scoreboard = new InstrumentedScoreboard(new LiveScoreboard() {
+            @Override
+            public List<CommandResult> applyBatch(List<ScoreCommand> commands) {
+                throw failure;
+            }
+        }, 1);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> scoreboard.applyBatch(List.of(new ScoreCommand.Start("Home", "Away"))));
+
+        Assert.assertSame(failure, exception);
+        Assert.assertEquals(1, scoreboard.getMetrics().getBatchCount());
+        Assert.assertEquals(1, scoreboard.getMetrics().batchLatency.getCount());
+    }
+
+    @Test
+    public void operations_whenLatencySampled_shouldStillAllBeCounted() {
+        InstrumentedScoreboard scoreboard = new InstrumentedScoreboard(new LiveScoreboard(), 100);
+        scoreboard.start("Home", "Away");
+
+        for (int goal = 1; goal <= 1000; goal++) {
+            scoreboard.update("Home", "Away", goal, 0);
+        }
+
+        Assert.assertEquals(1000, scoreboard.getMetrics().getUpdateCount());
+        Assert.assertTrue(scoreboard.getMetrics().updateLatency.getCount() < 1000);
+    }
+
+    @Test
+    public void getRunningMatches_whenBoardWrappedWithMatches_shouldCountThem() {
+        LiveScoreboard live = new LiveScoreboard();
+        live.start("Home", "Away");
+
+        InstrumentedScoreboard scoreboard = new InstrumentedScoreboard(live);
+
+        Assert.assertEquals(1, scoreboard.getMetrics().getRunningMatches());
+    }
+
+    @Test
+    public void getPercentile_whenLatenciesRecorded_shouldBeWithinAnEighthAbove() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        Assert.assertEquals(10_000, histogram.getCount());
+        assertWithinAnEighthAbove(5_000, histogram.getPercentile(50));
+        assertWithinAnEighthAbove(9_900, histogram.getPercentile(99));
+        assertWithinAnEighthAbove(9_990, histogram.getPercentile(99.9));
+        Assert.assertEquals(1, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void bucketOf_whenValuesGrow_shouldMapToAdjacentBucketsWithMatchingBounds() {
+        for (long nanos = 0; nanos < 1 << 16; nanos++) {
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            Assert.assertTrue(nanos <= LatencyHistogram.highestValueOf(bucket));
+            if (bucket > 0) Assert.assertTrue(nanos > LatencyHistogram.highestValueOf(bucket - 1));
+        }
+        Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void registerMBean_whenRegistered_shouldExposeMetricsOverJmx() throws Exception {
+        InstrumentedScoreboard scoreboard = new InstrumentedScoreboard(new ConcurrentLiveScoreboard());
+        scoreboard.start("Home", "Away");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        ObjectName name = scoreboard.registerMBean("tests");
+        try {
+            Assert.assertEquals(1, server.getAttribute(name, "RunningMatches"));
+            Assert.assertEquals(1L, server.getAttribute(name, "StartCount"));
+            server.invoke(name, "reset", null, null);
+            Assert.assertEquals(0L, server.getAttribute(name, "StartCount"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static void assertWithinAnEighthAbove(long expected, long actual) {
+        Assert.assertTrue(actual + " below " + expected, actual >= expected);
+        Assert.assertTrue(actual + " too far above " + expected, actual <= expected + expected / 8);
+    }
+
+}
@@ -8,7 +8,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertThrows;
 
@@ -214,6 +217,29 @@ public class LiveScoreboardTests {
         assertMatchAsExpected(matches.getFirst(), homeTeam, awayTeam, 0, 0);
     }
 
+    @Test
+    public void start_whenTeamsFinishedMatchWithEachOther_shouldAllowThemInOtherMatches()
+            throws ClashingTeamsException, BlankTeamNameException, MatchNotFoundException {
+        // arrange
+        String homeTeam = "Home";
+        String awayTeam = "Away";
+        String homeTeam2 = "Home2";
+        String awayTeam2 = "Away2";
+
+        scoreboard.start(homeTeam, awayTeam);
+        scoreboard.finish(homeTeam, awayTeam);
+
+        // act - both teams of the finished match swap to new opponents and roles
+        scoreboard.start(awayTeam, awayTeam2);
+        scoreboard.start(homeTeam2, homeTeam);
+
+        // assert
+        List<Match> matches = scoreboard.getMatches();
+        Assert.assertEquals(2, matches.size());
+        assertMatchAsExpected(matches.get(0), homeTeam2, homeTeam, 0, 0);
+        assertMatchAsExpected(matches.get(1), awayTeam, awayTeam2, 0, 0);
+    }
+
     @Test
     public void update_whenMatchRunning_shouldUpdateScore()
             throws ClashingTeamsException, LowerScoreException, MatchNotFoundException, BlankTeamNameException {
@@ -544,6 +570,273 @@ public class LiveScoreboardTests {
         assertTeamsAsExpected(matches.get(3), homeTeam, awayTeam);
     }
 
+    @Test
+    public void getMatches_whenUpdatesChangeTotalScores_shouldReorderMatches()
+            throws ClashingTeamsException, BlankTeamNameException, LowerScoreException, MatchNotFoundException {
+        // arrange
+        String homeTeam = "Home";
+        String awayTeam = "Away";
+        String homeTeam2 = "Home2";
+        String awayTeam2 = "Away2";
+        scoreboard.start(homeTeam, awayTeam);
+        scoreboard.start(homeTeam2, awayTeam2);
+
+        // act - the first match overtakes the second, then the second catches up
+        scoreboard.update(homeTeam, awayTeam, 1, 0);
+        List<Match> afterFirstUpdate = scoreboard.getMatches();
+        scoreboard.update(homeTeam2, awayTeam2, 0, 1);
+        List<Match> afterSecondUpdate = scoreboard.getMatches();
+
+        // assert
+        assertTeamsAsExpected(afterFirstUpdate.get(0), homeTeam, awayTeam);
+        assertTeamsAsExpected(afterFirstUpdate.get(1), homeTeam2, awayTeam2);
+        // equal total scores, so the most recently started match goes first
+        assertTeamsAsExpected(afterSecondUpdate.get(0), homeTeam2, awayTeam2);
+        assertTeamsAsExpected(afterSecondUpdate.get(1), homeTeam, awayTeam);
+    }
+
+    @Test
+    public void update_whenTeamsGivenByIds_shouldUpdateMatchStartedByNames()
+            throws ClashingTeamsException, BlankTeamNameException, LowerScoreException, MatchNotFoundException {
+        // arrange
+        scoreboard.start("Home", "Away");
+        TeamId homeTeam = scoreboard.team("Home");
+        TeamId awayTeam = scoreboard.team("Away");
+
+        // act
+        scoreboard.update(homeTeam, awayTeam, 2, 1);
+
+        // assert
+        Assert.assertEquals(homeTeam, scoreboard.team("Home"));
+        assertMatchAsExpected(scoreboard.getMatches().getFirst(), "Home", "Away", 2, 1);
+        scoreboard.finish(homeTeam, awayTeam);
+        Assert.assertTrue(scoreboard.getMatches().isEmpty());
+    }
+
+    @Test
+    public void start_whenTeamIdsOfAnotherBoardGiven_shouldThrowException() {
+        TeamId homeTeam = new LiveScoreboard().team("Home");
+        TeamId awayTeam = new LiveScoreboard().team("Away");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            scoreboard.start(homeTeam, awayTeam);
+        });
+
+        Assert.assertEquals("Team not registered on this board", exception.getMessage());
+    }
+
+    @Test
+    public void update_whenTeamsGivenByIdsNotPlayingEachOther_shouldThrowException() {
+        scoreboard.start("Home", "Away2");
+        scoreboard.start("Home2", "Away");
+        TeamId homeTeam = scoreboard.team("Home");
+        TeamId awayTeam = scoreboard.team("Away");
+
+        Exception exception = assertThrows(MatchNotFoundException.class, () -> {
+            scoreboard.update(homeTeam, awayTeam, 1, 0);
+        });
+
+        Assert.assertEquals("Match not found", exception.getMessage());
+    }
+
+    @Test
+    public void update_whenMoreTeamsResolvedThanInitialIndexSize_shouldFindMatches() {
+        // arrange - more teams than the 16 entries the match index starts with, before any match is started
+        List<TeamId> teams = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            teams.add(scoreboard.team("Team" + i));
+        }
+
+        // act & assert
+        assertThrows(MatchNotFoundException.class, () -> scoreboard.update(teams.get(38), teams.get(39), 1, 0));
+        assertThrows(MatchNotFoundException.class, () -> scoreboard.finish("Team38", "Team39"));
+        scoreboard.start(teams.get(38), teams.get(39));
+        scoreboard.update(teams.get(38), teams.get(39), 1, 0);
+        scoreboard.update("Team38", "Team39", 2, 0);
+        assertMatchAsExpected(scoreboard.getMatches().getFirst(), "Team38", "Team39", 2, 0);
+        scoreboard.finish(teams.get(38), teams.get(39));
+        Assert.assertTrue(scoreboard.getMatches().isEmpty());
+    }
+
+    @Test
+    public void tryStart_whenTeamsResolvedBeforeAnyMatch_shouldStartMatch() {
+        for (int i = 0; i < 100; i++) {
+            scoreboard.team("Team" + i);
+        }
+
+        Assert.assertEquals(ScoreOutcome.OK, scoreboard.tryStart("Team98", "Team99"));
+        Assert.assertEquals(ScoreOutcome.CLASHING, scoreboard.tryStart("Team99", "Team100"));
+        Assert.assertEquals(ScoreOutcome.NOT_FOUND, scoreboard.tryUpdate("Team0", "Team1", 1, 0));
+    }
+
+    @Test
+    public void forEachInOrder_whenMatchesRunning_shouldVisitThemInSummaryOrder() {
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.start("Spain", "Brazil");
+        scoreboard.start("Germany", "France");
+        scoreboard.update("Mexico", "Canada", 0, 5);
+        scoreboard.update("Spain", "Brazil", 10, 2);
+        scoreboard.update("Germany", "France", 2, 2);
+        List<SummarizedMatch> visited = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+
+        scoreboard.forEachInOrder((rank, homeTeam, awayTeam, homeTeamScore, awayTeamScore) -> {
+            ranks.add(rank);
+            visited.add(new SummarizedMatch(homeTeam.name(), awayTeam.name(), homeTeamScore, awayTeamScore));
+            Assert.assertEquals(scoreboard.team(homeTeam.name()), homeTeam);
+        });
+
+        Assert.assertEquals(scoreboard.getSummary(), visited);
+        Assert.assertEquals(List.of(0, 1, 2), ranks);
+    }
+
+    @Test
+    public void forEachInOrder_whenMatchesMovedFinishedBatchedAndRestored_shouldFollowSummary() {
+        Random random = new Random(42);
+        int[] homeTeamScores = new int[20];
+        for (int i = 0; i < 20; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+        }
+        for (int round = 0; round < 200; round++) {
+            int i = random.nextInt(20);
+            if (round % 10 == 9) {
+                int j = random.nextInt(20);
+                homeTeamScores[j] += 2;
+                scoreboard.applyBatch(List.of(
+                        new ScoreCommand.Update("Home" + i, "Away" + i, ++homeTeamScores[i], 0),
+                        new ScoreCommand.Update("Home" + j, "Away" + j, homeTeamScores[j], 0)));
+            } else if (round % 7 == 6) {
+                scoreboard.finish("Home" + i, "Away" + i);
+                scoreboard.start("Home" + i, "Away" + i);
+                homeTeamScores[i] = 0;
+            } else {
+                scoreboard.update("Home" + i, "Away" + i, ++homeTeamScores[i], 0);
+            }
+        }
+        LiveScoreboard restored = LiveScoreboard.restore(
+                new ScoreboardCheckpoint(0, 1000, List.copyOf(scoreboard.getMatches())));
+
+        for (LiveScoreboard board : List.of(scoreboard, restored)) {
+            List<SummarizedMatch> visited = new ArrayList<>();
+            board.forEachInOrder((rank, homeTeam, awayTeam, homeTeamScore, awayTeamScore) ->
+                    visited.add(new SummarizedMatch(homeTeam.name(), awayTeam.name(), homeTeamScore, awayTeamScore)));
+            Assert.assertEquals(board.getSummary(), visited);
+        }
+    }
+
+    @Test
+    public void tryUpdate_whenSequencedMessagesRepeatedOrReordered_shouldApplyEachSequenceOnce() {
+        scoreboard.start("Mexico", "Canada");
+
+        ScoreOutcome first = scoreboard.tryUpdate("Mexico", "Canada", 1, 0, 1);
+        ScoreOutcome third = scoreboard.tryUpdate("Mexico", "Canada", 2, 1, 3);
+        ScoreOutcome second = scoreboard.tryUpdate("Mexico", "Canada", 2, 0, 2);
+        ScoreOutcome thirdAgain = scoreboard.tryUpdate("Mexico", "Canada", 2, 1, 3);
+        long version = scoreboard.getVersion();
+
+        Assert.assertEquals(List.of(ScoreOutcome.OK, ScoreOutcome.OK, ScoreOutcome.STALE, ScoreOutcome.STALE),
+                List.of(first, third, second, thirdAgain));
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 2, 1)), scoreboard.getSummary());
+        Assert.assertEquals(1, scoreboard.getStaleMessages());
+        Assert.assertEquals(1, scoreboard.getDuplicateMessages());
+        Assert.assertEquals(3, version);
+    }
+
+    @Test
+    public void tryUpdate_whenSequenceLaterButScoreLower_shouldRejectWithoutAdvancingSequence() {
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.tryUpdate("Mexico", "Canada", 2, 0, 1);
+
+        ScoreOutcome lowered = scoreboard.tryUpdate("Mexico", "Canada", 1, 0, 2);
+        ScoreOutcome corrected = scoreboard.tryUpdate("Mexico", "Canada", 3, 0, 2);
+
+        Assert.assertEquals(ScoreOutcome.LOWER_SCORE, lowered);
+        Assert.assertEquals(ScoreOutcome.OK, corrected);
+    }
+
+    @Test
+    public void tryFinish_whenSequenceNotAfterLastUpdate_shouldKeepMatchRunning() {
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.tryUpdate("Mexico", "Canada", 1, 0, 5);
+
+        ScoreOutcome stale = scoreboard.tryFinish("Mexico", "Canada", 4);
+        ScoreOutcome finished = scoreboard.tryFinish("Mexico", "Canada", 6);
+        ScoreOutcome repeated = scoreboard.tryFinish("Mexico", "Canada", 6);
+
+        Assert.assertEquals(List.of(ScoreOutcome.STALE, ScoreOutcome.OK, ScoreOutcome.NOT_FOUND),
+                List.of(stale, finished, repeated));
+        Assert.assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    public void update_whenConflated_shouldApplyOnlyLatestScoreOnRead() {
+        scoreboard.conflateUpdates(Duration.ofSeconds(1), new ManualClock(0));
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.start("Spain", "Brazil");
+        scoreboard.update("Mexico", "Canada", 1, 0);
+        scoreboard.update("Mexico", "Canada", 2, 0);
+        scoreboard.update("Mexico", "Canada", 2, 1);
+
+        Assert.assertEquals(3, scoreboard.getVersion());
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 2, 1),
+                new SummarizedMatch("Spain", "Brazil", 0, 0)), scoreboard.getSummary());
+    }
+
+    @Test
+    public void update_whenConflatedScoreLowerThanPendingScore_shouldReject() {
+        scoreboard.conflateUpdates(Duration.ofSeconds(1), new ManualClock(0));
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.update("Mexico", "Canada", 2, 0);
+
+        LowerScoreException exception = assertThrows(LowerScoreException.class,
+                () -> scoreboard.update("Mexico", "Canada", 1, 0));
+        ScoreOutcome outcome = scoreboard.tryUpdate("Mexico", "Canada", 1, 1);
+
+        Assert.assertEquals("Score can't be lowered", exception.getMessage());
+        Assert.assertEquals(ScoreOutcome.LOWER_SCORE, outcome);
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 2, 0)), scoreboard.getSummary());
+    }
+
+    @Test
+    public void update_whenConflationWindowPassed_shouldApplyPendingScoreBeforeNextUpdate() {
+        ManualClock clock = new ManualClock(0);
+        scoreboard.conflateUpdates(Duration.ofMillis(100), clock);
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.update("Mexico", "Canada", 1, 0);
+        clock.advance(50);
+        scoreboard.update("Mexico", "Canada", 2, 0);
+        clock.advance(50);
+        scoreboard.update("Mexico", "Canada", 3, 0);
+
+        // the first two updates were applied as one when the window passed, the last one on reading the version
+        Assert.assertEquals(3, scoreboard.getVersion());
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 3, 0)), scoreboard.getSummary());
+    }
+
+    @Test
+    public void update_whenConflatedAndMatchNotFound_shouldThrowMatchNotFoundException() {
+        scoreboard.conflateUpdates(Duration.ofSeconds(1), new ManualClock(0));
+
+        MatchNotFoundException exception = assertThrows(MatchNotFoundException.class,
+                () -> scoreboard.update("Mexico", "Canada", 1, 0));
+
+        Assert.assertEquals("Match not found", exception.getMessage());
+    }
+
+    @Test
+    public void finish_whenScorePending_shouldFinishWithLatestScore() {
+        MatchArchive archive = new MatchArchive();
+        scoreboard.archiveTo(archive);
+        scoreboard.conflateUpdates(Duration.ofSeconds(1), new ManualClock(0));
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.update("Mexico", "Canada", 1, 0);
+
+        scoreboard.finish("Mexico", "Canada");
+
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 1, 0)), archive.getResults("Mexico"));
+        Assert.assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
     private static void assertTeamsAsExpected(Match match, String homeTeam, String awayTeam) {
         Assert.assertEquals(homeTeam, match.getHomeTeam());
         Assert.assertEquals(awayTeam, match.getAwayTeam());
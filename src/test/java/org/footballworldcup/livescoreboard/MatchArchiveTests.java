@@ -0,0 +1,101 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertThrows;
+
+public class MatchArchiveTests {
+
+    @Test
+    public void finish_whenBoardArchived_shouldKeepFinishedMatchInArchive() {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        MatchArchive archive = new MatchArchive();
+        scoreboard.archiveTo(archive);
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.start("Spain", "Brazil");
+        scoreboard.update("Mexico", "Canada", 0, 5);
+
+        scoreboard.finish("Mexico", "Canada");
+
+        Assert.assertEquals(1, archive.getMatchCount());
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 0, 5)), archive.getResults("Canada"));
+        Assert.assertEquals(List.of(), archive.getResults("Spain"));
+    }
+
+    @Test
+    public void getResults_whenMatchesSpanManyBlocks_shouldReturnAllMatchesOfTeamInArchivingOrder() {
+        MatchArchive archive = new MatchArchive(4);
+        List<SummarizedMatch> archived = archiveRandomMatches(archive, 103, new Random(7));
+
+        for (int team = 0; team < 10; team++) {
+            String name = "Team " + team;
+            List<SummarizedMatch> expected = archived.stream()
+                    .filter(match -> match.homeTeam().equals(name) || match.awayTeam().equals(name)).toList();
+            Assert.assertEquals(expected, archive.getResults(name));
+        }
+    }
+
+    @Test
+    public void getHighestScoring_whenMatchesSpanManyBlocks_shouldReturnHighestTotalsMostRecentFirst() {
+        MatchArchive archive = new MatchArchive(4);
+        List<SummarizedMatch> archived = archiveRandomMatches(archive, 103, new Random(11));
+        List<Integer> archivingOrder = new ArrayList<>();
+        for (int i = 0; i < archived.size(); i++) {
+            archivingOrder.add(i);
+        }
+        List<SummarizedMatch> expected = archivingOrder.stream()
+                .sorted(Comparator.<Integer>comparingInt(i -> totalScore(archived.get(i)))
+                        .thenComparingInt(i -> i).reversed())
+                .limit(10).map(archived::get).toList();
+
+        Assert.assertEquals(expected, archive.getHighestScoring(10));
+        Assert.assertEquals(archived.size(), archive.getHighestScoring(1000).size());
+    }
+
+    @Test
+    public void getStoredBytes_whenManyMatchesArchived_shouldBeCompressed() {
+        MatchArchive archive = new MatchArchive();
+        int plainBytes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String homeTeam = "Home team " + i % 50;
+            String awayTeam = "Away team " + i % 50;
+            archive.append(homeTeam, awayTeam, i % 5, i % 3);
+            plainBytes += homeTeam.length() + awayTeam.length() + 4;
+        }
+
+        Assert.assertTrue(archive.getStoredBytes() < plainBytes / 4);
+    }
+
+    @Test
+    public void getHighestScoring_whenLimitNegative_shouldThrowException() {
+        MatchArchive archive = new MatchArchive();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> archive.getHighestScoring(-1));
+
+        Assert.assertEquals("Limit can't be negative", exception.getMessage());
+    }
+
+    private static List<SummarizedMatch> archiveRandomMatches(MatchArchive archive, int count, Random random) {
+        List<SummarizedMatch> archived = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int homeTeam = random.nextInt(10);
+            int awayTeam = (homeTeam + 1 + random.nextInt(9)) % 10;
+            SummarizedMatch match = new SummarizedMatch(
+                    "Team " + homeTeam, "Team " + awayTeam, random.nextInt(6), random.nextInt(6));
+            archive.append(match.homeTeam(), match.awayTeam(), match.homeTeamScore(), match.awayTeamScore());
+            archived.add(match);
+        }
+        return archived;
+    }
+
+    private static int totalScore(SummarizedMatch match) {
+        return match.homeTeamScore() + match.awayTeamScore();
+    }
+
+}
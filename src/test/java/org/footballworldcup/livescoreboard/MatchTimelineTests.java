@@ -0,0 +1,124 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertThrows;
+
+public class MatchTimelineTests {
+
+    @Test
+    public void getChanges_whenUpdatesAccepted_shouldReturnEachScoreWithItsTime() {
+        ManualClock clock = new ManualClock(1_000);
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.recordTimelines(clock);
+        scoreboard.start("Mexico", "Canada");
+        clock.advance(60_000);
+        scoreboard.update("Mexico", "Canada", 1, 0);
+        clock.advance(5);
+        scoreboard.update("Mexico", "Canada", 1, 1);
+        clock.advance(1_200_000);
+        scoreboard.update("Mexico", "Canada", 3, 4);
+
+        MatchTimeline timeline = scoreboard.getTimeline("Mexico", "Canada");
+
+        Assert.assertEquals(new MatchTimeline.ScoreChange(1_000, 0, 0), timeline.getStart());
+        Assert.assertEquals(List.of(
+                new MatchTimeline.ScoreChange(61_000, 1, 0),
+                new MatchTimeline.ScoreChange(61_005, 1, 1),
+                new MatchTimeline.ScoreChange(1_261_005, 3, 4)), timeline.getChanges());
+    }
+
+    @Test
+    public void getChanges_whenUpdatesConflated_shouldReturnEachAcceptedScoreWithTimeAccepted() {
+        ManualClock clock = new ManualClock(1_000);
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.recordTimelines(clock);
+        scoreboard.conflateUpdates(Duration.ofSeconds(1), clock);
+        scoreboard.start("Mexico", "Canada");
+        clock.advance(10);
+        scoreboard.update("Mexico", "Canada", 1, 0);
+        clock.advance(10);
+        scoreboard.update("Mexico", "Canada", 1, 1);
+        clock.advance(2_000);
+        scoreboard.update("Mexico", "Canada", 2, 1);
+
+        MatchTimeline timeline = scoreboard.getTimeline("Mexico", "Canada");
+
+        Assert.assertEquals(List.of(
+                new MatchTimeline.ScoreChange(1_010, 1, 0),
+                new MatchTimeline.ScoreChange(1_020, 1, 1),
+                new MatchTimeline.ScoreChange(3_020, 2, 1)), timeline.getChanges());
+        Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 2, 1)), scoreboard.getSummary());
+    }
+
+    @Test
+    public void replay_givenVisitor_shouldVisitSameChangesAsGetChanges() {
+        MatchTimeline timeline = new MatchTimeline(0, 0, 0, MatchTimeline.DEFAULT_MAX_BYTES);
+        timeline.record(10, 1, 0);
+        timeline.record(20, 1, 1);
+        timeline.record(20, 1, 1);
+        List<MatchTimeline.ScoreChange> replayed = new ArrayList<>();
+
+        timeline.replay((timeMillis, homeTeamScore, awayTeamScore) ->
+                replayed.add(new MatchTimeline.ScoreChange(timeMillis, homeTeamScore, awayTeamScore)));
+
+        Assert.assertEquals(timeline.getChanges(), replayed);
+        Assert.assertEquals(3, replayed.size());
+    }
+
+    @Test
+    public void record_whenGoalOfOneSideSoonAfterPreviousChange_shouldTakeOneByte() {
+        MatchTimeline timeline = new MatchTimeline(0, 0, 0, MatchTimeline.DEFAULT_MAX_BYTES);
+
+        timeline.record(31, 1, 0);
+        timeline.record(62, 1, 1);
+
+        Assert.assertEquals(2, timeline.getStoredBytes());
+    }
+
+    @Test
+    public void record_whenTimelineFull_shouldDropOldestChangesAndStayWithinLimit() {
+        int maxBytes = 64;
+        MatchTimeline timeline = new MatchTimeline(0, 0, 0, maxBytes);
+        for (int goal = 1; goal <= 1000; goal++) {
+            timeline.record(goal * 60_000L, goal, goal / 2);
+            Assert.assertTrue(timeline.getStoredBytes() <= maxBytes);
+        }
+
+        List<MatchTimeline.ScoreChange> changes = timeline.getChanges();
+
+        Assert.assertEquals(1000, timeline.getDroppedChanges() + timeline.getChangeCount());
+        Assert.assertEquals(timeline.getChangeCount(), changes.size());
+        Assert.assertEquals(new MatchTimeline.ScoreChange(60_000_000, 1000, 500), changes.getLast());
+        MatchTimeline.ScoreChange start = timeline.getStart();
+        Assert.assertEquals(timeline.getDroppedChanges() * 60_000L, start.timeMillis());
+        Assert.assertEquals(timeline.getDroppedChanges(), start.homeTeamScore());
+    }
+
+    @Test
+    public void getTimeline_whenTimelinesNotRecorded_shouldReturnNull() {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.start("Mexico", "Canada");
+
+        Assert.assertNull(scoreboard.getTimeline("Mexico", "Canada"));
+    }
+
+    @Test
+    public void getTimeline_whenMatchNotRunning_shouldThrowException() {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.recordTimelines(new ManualClock(0));
+
+        Exception exception = assertThrows(MatchNotFoundException.class, () -> {
+            scoreboard.getTimeline("Mexico", "Canada");
+        });
+
+        Assert.assertEquals("Match not found", exception.getMessage());
+    }
+
+}
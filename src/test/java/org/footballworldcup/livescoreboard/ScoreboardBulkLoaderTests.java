@@ -0,0 +1,135 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.ScoreboardException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScoreboardBulkLoaderTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void load_givenFileOfMatches_shouldBuildBoardLikeStartingAndUpdatingThem() throws Exception {
+        Path file = write("""
+                # home,away,home score,away score
+                Mexico,Canada,0,5
+                Spain,Brazil,10,2
+                Germany,France
+
+                Uruguay,Italy,6,6\r
+                Argentina,Australia,3,1
+                """);
+        LiveScoreboard expected = new LiveScoreboard();
+        expected.start("Mexico", "Canada");
+        expected.update("Mexico", "Canada", 0, 5);
+        expected.start("Spain", "Brazil");
+        expected.update("Spain", "Brazil", 10, 2);
+        expected.start("Germany", "France");
+        expected.start("Uruguay", "Italy");
+        expected.update("Uruguay", "Italy", 6, 6);
+        expected.start("Argentina", "Australia");
+        expected.update("Argentina", "Australia", 3, 1);
+
+        ScoreboardBulkLoader.BulkLoadResult result = ScoreboardBulkLoader.load(file);
+
+        Assert.assertEquals(expected.getSummary(), result.scoreboard().getSummary());
+        Assert.assertEquals(List.of(), result.rejectedRows());
+    }
+
+    @Test
+    public void load_givenInvalidRows_shouldRejectThemAndLoadTheRest() throws Exception {
+        Path file = write("""
+                Mexico,Canada
+                Canada,Spain
+                Spain,Spain
+                 ,Brazil
+                Brazil,Germany,one,0
+                Germany
+                Italy,France,-1,0
+                Italy,France
+                """);
+
+        ScoreboardBulkLoader.BulkLoadResult result = ScoreboardBulkLoader.load(file);
+
+        Assert.assertEquals(List.of(
+                new ScoreboardBulkLoader.RejectedRow(2, "Canada,Spain", "Team already playing"),
+                new ScoreboardBulkLoader.RejectedRow(3, "Spain,Spain", "A team can't play a match against itself"),
+                new ScoreboardBulkLoader.RejectedRow(4, " ,Brazil", "Home team name is empty"),
+                new ScoreboardBulkLoader.RejectedRow(5, "Brazil,Germany,one,0", "Malformed score"),
+                new ScoreboardBulkLoader.RejectedRow(6, "Germany", "Malformed row"),
+                new ScoreboardBulkLoader.RejectedRow(7, "Italy,France,-1,0", "Score can't be negative")),
+                result.rejectedRows());
+        Assert.assertEquals(List.of(new SummarizedMatch("Italy", "France", 0, 0),
+                new SummarizedMatch("Mexico", "Canada", 0, 0)), result.scoreboard().getSummary());
+    }
+
+    @Test
+    public void load_whenFileSplitIntoManyChunks_shouldNumberRowsAcrossChunks() throws Exception {
+        StringBuilder content = new StringBuilder();
+        int matches = 20_000;
+        for (int i = 0; i < matches; i++) {
+            content.append("Home team ").append(i).append(",Away team ").append(i).append(',')
+                    .append(i % 7).append(',').append(i % 3).append('\n');
+            // every thousandth match is repeated, so the repetition is rejected
+            if (i % 1000 == 0) content.append("Home team ").append(i).append(",Other team\n");
+        }
+        Path file = write(content.toString());
+
+        ScoreboardBulkLoader.BulkLoadResult result = ScoreboardBulkLoader.load(file);
+
+        List<Integer> rejectedLines = new ArrayList<>();
+        List<Integer> expectedLines = new ArrayList<>();
+        for (ScoreboardBulkLoader.RejectedRow row : result.rejectedRows()) {
+            rejectedLines.add(row.lineNo());
+        }
+        for (int i = 0; i < matches / 1000; i++) {
+            expectedLines.add(i * 1001 + 2);
+        }
+        Assert.assertEquals(expectedLines, rejectedLines);
+        Assert.assertEquals(matches, result.scoreboard().getSummary().size());
+        Assert.assertEquals(new SummarizedMatch("Home team 19991", "Away team 19991", 6, 2),
+                result.scoreboard().getSummary().getFirst());
+    }
+
+    @Test
+    public void load_givenRowsStartRejects_shouldRejectThemWithMessagesOfStart() throws Exception {
+        Path file = write("""
+                Mexico,Canada
+                Canada,Spain
+                Spain,Spain
+                 ,Brazil
+                Brazil,
+                """);
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.start("Mexico", "Canada");
+        List<String> expectedReasons = new ArrayList<>();
+        String[][] rejectedTeams = {{"Canada", "Spain"}, {"Spain", "Spain"}, {"", "Brazil"}, {"Brazil", ""}};
+        for (String[] teams : rejectedTeams) {
+            expectedReasons.add(Assert.assertThrows(ScoreboardException.class,
+                    () -> scoreboard.start(teams[0], teams[1])).getMessage());
+        }
+
+        ScoreboardBulkLoader.BulkLoadResult result = ScoreboardBulkLoader.load(file);
+
+        List<String> reasons = new ArrayList<>();
+        for (ScoreboardBulkLoader.RejectedRow row : result.rejectedRows()) {
+            reasons.add(row.reason());
+        }
+        Assert.assertEquals(expectedReasons, reasons);
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.writeString(file, content);
+        return file;
+    }
+
+}
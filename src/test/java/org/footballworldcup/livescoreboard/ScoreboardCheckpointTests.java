@@ -0,0 +1,116 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertThrows;
+
+public class ScoreboardCheckpointTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Path checkpointFile;
+    Path journalFile;
+
+    @Before
+    public void initialize() {
+        this.checkpointFile = folder.getRoot().toPath().resolve("scoreboard.checkpoint");
+        this.journalFile = folder.getRoot().toPath().resolve("scoreboard.journal");
+    }
+
+    @Test
+    public void restore_whenCheckpointWritten_shouldRestoreBoardAndStartingOrder() throws IOException {
+        // arrange
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.start("Spain", "Brazil");
+        scoreboard.start("Germany", "France");
+        scoreboard.update("Mexico", "Canada", 0, 5);
+        scoreboard.update("Germany", "France", 1, 0);
+        scoreboard.finish("Spain", "Brazil");
+        scoreboard.checkpoint(checkpointFile);
+
+        // act
+        LiveScoreboard restored = LiveScoreboard.restore(checkpointFile);
+
+        // assert
+        Assert.assertEquals(scoreboard.getSummary(), restored.getSummary());
+        // a match started after restoring goes ahead of earlier matches with the same total score
+        restored.start("Uruguay", "Italy");
+        restored.update("Uruguay", "Italy", 0, 1);
+        Assert.assertEquals("Uruguay", restored.getSummary().get(1).homeTeam());
+        Assert.assertThrows(IllegalArgumentException.class, () -> restored.start("Mexico", "Spain"));
+    }
+
+    @Test
+    public void recover_whenOperationsJournaledAfterCheckpoint_shouldReplayOnlyThem() throws IOException {
+        // arrange
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+            scoreboard.start("Mexico", "Canada");
+            scoreboard.update("Mexico", "Canada", 0, 1);
+            scoreboard.checkpoint(checkpointFile);
+            scoreboard.update("Mexico", "Canada", 0, 2);
+            scoreboard.start("Spain", "Brazil");
+        }
+
+        // act
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(checkpointFile, journal);
+
+            // assert
+            Assert.assertEquals(2, journal.readRecords().size());
+            Assert.assertEquals(List.of(
+                    new SummarizedMatch("Mexico", "Canada", 0, 2),
+                    new SummarizedMatch("Spain", "Brazil", 0, 0)), scoreboard.getSummary());
+        }
+    }
+
+    @Test
+    public void recover_whenJournalNotResetAfterCheckpoint_shouldNotReplayRecordsTwice() throws IOException {
+        // arrange - the checkpoint is written, but the journal keeps its records, as after a crash
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+            scoreboard.start("Mexico", "Canada");
+            scoreboard.update("Mexico", "Canada", 0, 1);
+            ScoreboardCheckpoint.write(checkpointFile, journal.getGeneration(), 1,
+                    List.of(new Match("Mexico", "Canada", 0, 1, 0)));
+        }
+
+        // act
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(checkpointFile, journal);
+
+            // assert
+            Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 0, 1)), scoreboard.getSummary());
+            Assert.assertTrue(journal.readRecords().isEmpty());
+        }
+    }
+
+    @Test
+    public void read_whenCheckpointCorrupted_shouldThrowException() throws IOException {
+        LiveScoreboard scoreboard = new LiveScoreboard();
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.checkpoint(checkpointFile);
+        try (RandomAccessFile file = new RandomAccessFile(checkpointFile.toFile(), "rw")) {
+            file.seek(30);
+            file.write('X');
+        }
+
+        Exception exception = assertThrows(IOException.class, () -> {
+            LiveScoreboard.restore(checkpointFile);
+        });
+
+        Assert.assertEquals("Corrupted checkpoint", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,263 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Flow;
+
+public class ScoreboardEventPublisherTests {
+
+    @Test
+    public void changes_whenMatchesStartedUpdatedAndFinished_shouldDescribeEachChange() {
+        // arrange
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 16);
+        scoreboard.start("Mexico", "Canada");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.changes().subscribe(subscriber);
+        long version = scoreboard.getVersion();
+
+        // act
+        scoreboard.start("Spain", "Brazil");
+        scoreboard.update("Mexico", "Canada", 0, 1);
+        scoreboard.finish("Spain", "Brazil");
+
+        // assert
+        Assert.assertEquals(List.of(
+                new ScoreboardEvent.MatchStarted(version + 1, "Spain", "Brazil", 0),
+                new ScoreboardEvent.ScoreChanged(version + 2, "Mexico", "Canada", 0, 1),
+                new ScoreboardEvent.RankChanged(version + 2, "Mexico", "Canada", 1, 0),
+                new ScoreboardEvent.MatchFinished(version + 3, "Spain", "Brazil", 1)), subscriber.events);
+    }
+
+    @Test
+    public void changes_whenAppliedToSummaryCopy_shouldKeepCopyEqualToSummary() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 1024);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.changes().subscribe(subscriber);
+
+        for (int i = 0; i < 20; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+            scoreboard.update("Home" + i, "Away" + i, i % 4, i % 3);
+            if (i % 5 == 4) scoreboard.finish("Home" + (i - 2), "Away" + (i - 2));
+        }
+        scoreboard.applyBatch(List.of(
+                new ScoreCommand.Update("Home19", "Away19", 30, 1),
+                new ScoreCommand.Start("Home20", "Away20"),
+                new ScoreCommand.Update("Home9", "Away9", 2, 0),
+                new ScoreCommand.Finish("Home18", "Away18")));
+
+        Assert.assertEquals(scoreboard.getSummary(), subscriber.replay());
+    }
+
+    @Test
+    public void changes_whenMatchesChangedAtRandom_shouldKeepCopyEqualToSummary() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 1 << 16);
+        Random random = new Random(7);
+        int[] homeTeamScores = new int[600];
+        // ranks are first asked for once there are matches already, so they are counted from those too
+        for (int i = 0; i < 200; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        subscriber.events.add(new ScoreboardEvent.SummaryReset(scoreboard.getVersion(), scoreboard.getSnapshot()));
+        scoreboard.changes().subscribe(subscriber);
+
+        int started = 200;
+        int finished = 0;
+        for (int step = 0; step < 5_000; step++) {
+            int operation = random.nextInt(20);
+            if (operation == 0 && started < homeTeamScores.length) {
+                scoreboard.start("Home" + started, "Away" + started);
+                started += 1;
+            } else if (operation == 1 && finished < started - 1) {
+                scoreboard.finish("Home" + finished, "Away" + finished);
+                finished += 1;
+            } else {
+                int match = finished + random.nextInt(started - finished);
+                homeTeamScores[match] += random.nextInt(2);
+                scoreboard.update("Home" + match, "Away" + match, homeTeamScores[match], 0);
+            }
+        }
+
+        Assert.assertEquals(scoreboard.getSummary(), subscriber.replay());
+    }
+
+    @Test
+    public void changes_whenSubscriberFallsBehind_shouldConflateMissedEventsIntoReset() {
+        // arrange
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.changes().subscribe(subscriber);
+
+        // act - the subscriber requests nothing while ten matches are started
+        for (int i = 0; i < 10; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+        }
+        scoreboard.update("Home0", "Away0", 1, 0);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        // assert
+        Assert.assertTrue(subscriber.events.getFirst() instanceof ScoreboardEvent.SummaryReset);
+        Assert.assertTrue(subscriber.events.size() <= 4);
+        Assert.assertEquals(scoreboard.getSummary(), subscriber.replay());
+    }
+
+    @Test
+    public void changes_whenSubscriptionCancelled_shouldStopEvents() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 16);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.changes().subscribe(subscriber);
+
+        scoreboard.start("Mexico", "Canada");
+        subscriber.subscription.cancel();
+        scoreboard.finish("Mexico", "Canada");
+
+        Assert.assertEquals(1, subscriber.events.size());
+    }
+
+    @Test
+    public void request_whenNotPositive_shouldSignalError() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 16);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.changes().subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void request_whenNotPositiveWhileTakingEvent_shouldSignalErrorAfterEvent() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 16);
+        List<String> signals = new ArrayList<>();
+        scoreboard.changes().subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(ScoreboardEvent event) {
+                signals.add("onNext started");
+                super.subscription.request(0);
+                signals.add("onNext returned");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("onError");
+            }
+        });
+
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.start("Spain", "Brazil");
+
+        Assert.assertEquals(List.of("onNext started", "onNext returned", "onError"), signals);
+    }
+
+    @Test
+    public void changes_whenSubscriberThrows_shouldCancelAndSignalError() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 16);
+        IllegalStateException failure = new IllegalStateException("Subscriber failed");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(ScoreboardEvent event) {
+                super.onNext(event);
+                throw failure;
+            }
+        };
+        scoreboard.changes().subscribe(subscriber);
+
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.start("Spain", "Brazil");
+
+        Assert.assertSame(failure, subscriber.error);
+        Assert.assertEquals(1, subscriber.events.size());
+    }
+
+    @Test
+    public void changes_whenConflatedFeedGoesQuiet_shouldPublishExpiredScoresOnlyOnceApplied() {
+        LiveScoreboard scoreboard = new LiveScoreboard(Runnable::run, 16);
+        ManualClock clock = new ManualClock(0);
+        scoreboard.conflateUpdates(Duration.ofMillis(100), clock);
+        scoreboard.start("Mexico", "Canada");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.changes().subscribe(subscriber);
+        long version = scoreboard.getVersion();
+        scoreboard.update("Mexico", "Canada", 1, 0);
+
+        clock.advance(50);
+        scoreboard.applyExpiredUpdates();
+        List<ScoreboardEvent> beforeWindowPassed = List.copyOf(subscriber.events);
+        clock.advance(50);
+        scoreboard.applyExpiredUpdates();
+
+        Assert.assertTrue(beforeWindowPassed.isEmpty());
+        Assert.assertEquals(List.of(new ScoreboardEvent.ScoreChanged(version + 1, "Mexico", "Canada", 1, 0)),
+                subscriber.events);
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<ScoreboardEvent> {
+
+        private final long initialRequest;
+        private final List<ScoreboardEvent> events = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(ScoreboardEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        // rebuilds the summary from the received events, as a client would
+        List<SummarizedMatch> replay() {
+            List<SummarizedMatch> summary = new ArrayList<>();
+            for (ScoreboardEvent event : events) {
+                switch (event) {
+                    case ScoreboardEvent.MatchStarted started -> summary.add(started.rank(),
+                            new SummarizedMatch(started.homeTeam(), started.awayTeam(), 0, 0));
+                    case ScoreboardEvent.ScoreChanged changed -> {
+                        int rank = rankOf(summary, changed.homeTeam());
+                        summary.set(rank, new SummarizedMatch(changed.homeTeam(), changed.awayTeam(),
+                                changed.homeTeamScore(), changed.awayTeamScore()));
+                    }
+                    case ScoreboardEvent.RankChanged moved ->
+                            summary.add(moved.toRank(), summary.remove(moved.fromRank()));
+                    case ScoreboardEvent.MatchFinished finished -> summary.remove(finished.rank());
+                    case ScoreboardEvent.SummaryReset reset -> {
+                        summary.clear();
+                        summary.addAll(reset.snapshot().matches());
+                    }
+                }
+            }
+            return summary;
+        }
+
+        private static int rankOf(List<SummarizedMatch> summary, String homeTeam) {
+            for (int rank = 0; rank < summary.size(); rank++) {
+                if (summary.get(rank).homeTeam().equals(homeTeam)) return rank;
+            }
+            throw new IllegalStateException("No match of " + homeTeam);
+        }
+
+    }
+
+}
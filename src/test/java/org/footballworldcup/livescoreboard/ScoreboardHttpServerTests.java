@@ -0,0 +1,136 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+public class ScoreboardHttpServerTests {
+
+    private LiveScoreboard scoreboard;
+    private ScoreboardHttpServer server;
+    private HttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        scoreboard = new LiveScoreboard();
+        scoreboard.start("Mexico", "Canada");
+        scoreboard.update("Mexico", "Canada", 0, 5);
+        server = ScoreboardHttpServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scoreboard.getSnapshot());
+        client = HttpClient.newHttpClient();
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+        client.close();
+    }
+
+    @Test
+    public void getSummary_givenPublishedSnapshot_shouldReturnItAsJson() throws Exception {
+        HttpResponse<String> response = get("/summary", null);
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertEquals("{\"version\":2,\"matches\":[{\"homeTeam\":\"Mexico\",\"awayTeam\":\"Canada\","
+                + "\"homeTeamScore\":0,\"awayTeamScore\":5}]}", response.body());
+        Assert.assertTrue(response.headers().firstValue("ETag").isPresent());
+    }
+
+    @Test
+    public void getSummaryText_givenPublishedSnapshot_shouldReturnOneMatchPerLine() throws Exception {
+        HttpResponse<String> response = get("/summary.txt", null);
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertEquals("Mexico 0 - Canada 5\n", response.body());
+    }
+
+    @Test
+    public void getSummary_whenEtagOfCurrentVersionGiven_shouldReturnNotModified() throws Exception {
+        String etag = get("/summary", null).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> unchanged = get("/summary", etag);
+        scoreboard.update("Mexico", "Canada", 1, 5);
+        server.publish(scoreboard.getSnapshot());
+        HttpResponse<String> changed = get("/summary", etag);
+
+        Assert.assertEquals(304, unchanged.statusCode());
+        Assert.assertEquals(200, changed.statusCode());
+        Assert.assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    public void publish_whenOlderVersionGiven_shouldKeepServingLatestVersion() {
+        SummarySnapshot older = scoreboard.getSnapshot();
+        scoreboard.update("Mexico", "Canada", 1, 5);
+        server.publish(scoreboard.getSnapshot());
+
+        server.publish(older);
+
+        Assert.assertEquals(scoreboard.getVersion(), server.getVersion());
+    }
+
+    @Test
+    public void getNextSummary_whenNewVersionPublished_shouldReturnIt() throws Exception {
+        CompletableFuture<HttpResponse<String>> response = client.sendAsync(
+                request("/summary/next?after=" + server.getVersion(), null), HttpResponse.BodyHandlers.ofString());
+
+        Thread.sleep(100);
+        scoreboard.update("Mexico", "Canada", 1, 5);
+        server.publish(scoreboard.getSnapshot());
+
+        Assert.assertEquals(200, response.get().statusCode());
+        Assert.assertTrue(response.get().body().startsWith("{\"version\":3,"));
+    }
+
+    @Test
+    public void getNextSummary_whenNoVersionPublishedInTime_shouldReturnNoContent() throws Exception {
+        HttpResponse<String> response = get("/summary/next?timeout=0", null);
+
+        Assert.assertEquals(204, response.statusCode());
+    }
+
+    @Test
+    public void get_givenEachPath_shouldResolveServedPathsAndRejectOthers() throws Exception {
+        Assert.assertEquals(200, get("/summary", null).statusCode());
+        Assert.assertEquals(200, get("/summary.txt", null).statusCode());
+        Assert.assertEquals(204, get("/summary/next?timeout=0", null).statusCode());
+        Assert.assertEquals(404, get("/summary/previous", null).statusCode());
+        Assert.assertEquals(404, get("/summaryx", null).statusCode());
+        Assert.assertEquals(404, get("/", null).statusCode());
+    }
+
+    @Test
+    public void post_givenSummaryPath_shouldReturnMethodNotAllowed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/summary"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        Assert.assertEquals(405, response.statusCode());
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        return client.send(request(path, ifNoneMatch), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String path, String ifNoneMatch) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path));
+        if (ifNoneMatch != null) request.header("If-None-Match", ifNoneMatch);
+        return request.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://" + server.getAddress().getAddress().getHostAddress() + ":"
+                + server.getAddress().getPort() + path);
+    }
+
+}
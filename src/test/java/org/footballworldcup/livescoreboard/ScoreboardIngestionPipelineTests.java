@@ -0,0 +1,125 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertThrows;
+
+public class ScoreboardIngestionPipelineTests {
+
+    private static final int PRODUCERS = 16;
+
+    @Test
+    public void submit_whenCommandRejected_shouldCompleteFutureWithError() throws Exception {
+        try (ScoreboardIngestionPipeline pipeline = new ScoreboardIngestionPipeline(new LiveScoreboard(), 8)) {
+            CompletableFuture<CommandResult> started = pipeline.submit(new ScoreCommand.Start("Mexico", "Canada"));
+            CompletableFuture<CommandResult> clashing = pipeline.submit(new ScoreCommand.Start("Canada", "Brazil"));
+
+            Assert.assertTrue(started.get(10, TimeUnit.SECONDS).isApplied());
+            CommandResult result = clashing.get(10, TimeUnit.SECONDS);
+            Assert.assertFalse(result.isApplied());
+            Assert.assertEquals("Team already playing", result.error().getMessage());
+        }
+    }
+
+    @Test
+    public void submit_whenManyVirtualThreadsProduceIntoSmallBuffer_shouldApplyAllInOrderPerProducer()
+            throws Exception {
+        int goals = 200;
+        ScoreboardIngestionPipeline pipeline = new ScoreboardIngestionPipeline(new LiveScoreboard(), 4);
+        List<Future<List<CompletableFuture<CommandResult>>>> producers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                String homeTeam = "Home" + producer;
+                String awayTeam = "Away" + producer;
+                producers.add(executor.submit(() -> {
+                    // each producer's commands only apply in the order they were submitted
+                    List<CompletableFuture<CommandResult>> results = new ArrayList<>();
+                    results.add(pipeline.submit(new ScoreCommand.Start(homeTeam, awayTeam)));
+                    for (int goal = 1; goal <= goals; goal++) {
+                        results.add(pipeline.submit(new ScoreCommand.Update(homeTeam, awayTeam, goal, 0)));
+                    }
+                    return results;
+                }));
+            }
+        }
+        pipeline.close();
+
+        for (Future<List<CompletableFuture<CommandResult>>> producer : producers) {
+            for (CompletableFuture<CommandResult> result : producer.get()) {
+                Assert.assertTrue(result.isDone());
+                Assert.assertTrue(result.get().isApplied());
+            }
+        }
+        List<SummarizedMatch> summary = pipeline.getSummary();
+        Assert.assertEquals(PRODUCERS, summary.size());
+        for (SummarizedMatch match : summary) {
+            Assert.assertEquals(goals, match.homeTeamScore());
+        }
+    }
+
+    @Test
+    public void close_whenProducersStillWaitingForFullBuffer_shouldApplyEveryCommandClaimedBefore()
+            throws Exception {
+        ScoreboardIngestionPipeline pipeline = new ScoreboardIngestionPipeline(new LiveScoreboard(), 2);
+        List<Future<List<CompletableFuture<CommandResult>>>> producers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                String homeTeam = "Home" + producer;
+                String awayTeam = "Away" + producer;
+                producers.add(executor.submit(() -> {
+                    List<CompletableFuture<CommandResult>> results = new ArrayList<>();
+                    try {
+                        results.add(pipeline.submit(new ScoreCommand.Start(homeTeam, awayTeam)));
+                        for (int goal = 1; ; goal++) {
+                            results.add(pipeline.submit(new ScoreCommand.Update(homeTeam, awayTeam, goal, 0)));
+                        }
+                    } catch (IllegalStateException closed) {
+                        return results;
+                    }
+                }));
+            }
+            // producers keep claiming slots of the full buffer while the pipeline closes
+            Thread.sleep(20);
+            pipeline.close();
+        }
+
+        int applied = 0;
+        for (Future<List<CompletableFuture<CommandResult>>> producer : producers) {
+            for (CompletableFuture<CommandResult> result : producer.get()) {
+                Assert.assertTrue(result.isDone());
+                Assert.assertTrue(result.get().isApplied());
+                applied += 1;
+            }
+        }
+        int goals = 0;
+        for (SummarizedMatch match : pipeline.getSummary()) {
+            goals += match.homeTeamScore();
+        }
+        Assert.assertEquals(applied, pipeline.getSummary().size() + goals);
+    }
+
+    @Test
+    public void submit_whenPipelineClosed_shouldThrowException() {
+        ScoreboardIngestionPipeline pipeline = new ScoreboardIngestionPipeline(new LiveScoreboard(), 8);
+        CompletableFuture<CommandResult> started = pipeline.submit(new ScoreCommand.Start("Mexico", "Canada"));
+
+        pipeline.close();
+
+        Assert.assertTrue(started.isDone());
+        Assert.assertEquals(1, pipeline.getSnapshot().matches().size());
+        Exception exception = assertThrows(IllegalStateException.class, () -> {
+            pipeline.submit(new ScoreCommand.Finish("Mexico", "Canada"));
+        });
+        Assert.assertEquals("Pipeline closed", exception.getMessage());
+    }
+
+}
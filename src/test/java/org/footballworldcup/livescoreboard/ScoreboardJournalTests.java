@@ -0,0 +1,161 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertThrows;
+
+public class ScoreboardJournalTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Path journalFile;
+
+    @Before
+    public void initialize() throws IOException {
+        this.journalFile = folder.getRoot().toPath().resolve("scoreboard.journal");
+    }
+
+    @Test
+    public void recover_whenJournalNew_shouldReturnEmptyBoard() throws IOException {
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+
+            Assert.assertTrue(scoreboard.getSummary().isEmpty());
+        }
+    }
+
+    @Test
+    public void recover_whenOperationsJournaled_shouldRestoreBoardAndStartingOrder() throws IOException {
+        // arrange
+        List<SummarizedMatch> summaryBeforeRestart;
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.everyRecords(3))) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+            scoreboard.start("Mexico", "Canada");
+            scoreboard.start("Spain", "Brazil");
+            // rejected operations are not journaled
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.start("Spain", "France"));
+            assertThrows(IllegalArgumentException.class, () -> scoreboard.finish("Germany", "France"));
+            scoreboard.update("Mexico", "Canada", 0, 5);
+            scoreboard.applyBatch(List.of(
+                    new ScoreCommand.Start("Germany", "France"),
+                    new ScoreCommand.Update("Germany", "France", 2, 2),
+                    new ScoreCommand.Update("Spain", "Brazil", 0, 0),
+                    new ScoreCommand.Update("Spain", "Brazil", 1, 0)));
+            scoreboard.start("Uruguay", "Italy");
+            scoreboard.finish("Uruguay", "Italy");
+            summaryBeforeRestart = scoreboard.getSummary();
+        }
+
+        // act
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+
+            // assert
+            Assert.assertEquals(summaryBeforeRestart, scoreboard.getSummary());
+            // a match started after recovery goes ahead of earlier matches with the same total score
+            scoreboard.start("Argentina", "Australia");
+            scoreboard.update("Argentina", "Australia", 1, 0);
+            Assert.assertEquals("Argentina", scoreboard.getSummary().get(2).homeTeam());
+            Assert.assertEquals("Spain", scoreboard.getSummary().get(3).homeTeam());
+        }
+    }
+
+    @Test
+    public void recover_whenLastRecordIncomplete_shouldRestoreRecordsBeforeIt() throws IOException {
+        // arrange
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+            scoreboard.start("Mexico", "Canada");
+            scoreboard.update("Mexico", "Canada", 0, 1);
+            scoreboard.update("Mexico", "Canada", 0, 2);
+        }
+        // damage the last byte of the last record, as if the crash happened while writing it
+        int lastRecordEnd = lastRecordEnd();
+        try (RandomAccessFile file = new RandomAccessFile(journalFile.toFile(), "rw")) {
+            file.seek(lastRecordEnd - 1);
+            int lastByte = file.read();
+            file.seek(lastRecordEnd - 1);
+            file.write(lastByte + 1);
+        }
+
+        // act
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+
+            // assert
+            Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 0, 1)), scoreboard.getSummary());
+            // new records replace the incomplete one
+            scoreboard.update("Mexico", "Canada", 1, 1);
+        }
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD)) {
+            Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 1, 1)),
+                    LiveScoreboard.recover(journal).getSummary());
+        }
+    }
+
+    @Test
+    public void recover_whenJournalOutgrowsInitialMapping_shouldRestoreAllRecords() throws IOException {
+        int matches = 1000;
+        int goals = 100;
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.ON_CLOSE)) {
+            LiveScoreboard scoreboard = LiveScoreboard.recover(journal);
+            for (int i = 0; i < matches; i++) {
+                scoreboard.start("Home" + i, "Away" + i);
+                for (int goal = 1; goal <= goals; goal++) {
+                    scoreboard.update("Home" + i, "Away" + i, goal, 0);
+                }
+            }
+        }
+
+        try (ScoreboardJournal journal = ScoreboardJournal.open(journalFile, JournalSyncPolicy.ON_CLOSE)) {
+            List<SummarizedMatch> summary = LiveScoreboard.recover(journal).getSummary();
+
+            Assert.assertEquals(matches, summary.size());
+            Assert.assertEquals(new SummarizedMatch("Home999", "Away999", goals, 0), summary.getFirst());
+        }
+    }
+
+    @Test
+    public void open_whenFileIsNotJournal_shouldThrowException() throws IOException {
+        Files.writeString(journalFile, "not a journal");
+
+        Exception exception = assertThrows(IOException.class, () -> {
+            ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD);
+        });
+
+        Assert.assertEquals("Not a scoreboard journal", exception.getMessage());
+    }
+
+    @Test
+    public void open_whenJournalOfFirstFormatVersion_shouldThrowException() throws IOException {
+        // the header of version 1 had no generation, so its records start right after the format version
+        Files.write(journalFile, ByteBuffer.allocate(8).putInt(0x53424A31).putInt(1).array());
+
+        Exception exception = assertThrows(IOException.class, () -> {
+            ScoreboardJournal.open(journalFile, JournalSyncPolicy.EVERY_RECORD);
+        });
+
+        Assert.assertEquals("Unsupported journal format", exception.getMessage());
+    }
+
+    // position right after the last non-zero byte of the journal file
+    private int lastRecordEnd() throws IOException {
+        byte[] content = Files.readAllBytes(journalFile);
+        int end = content.length;
+        while (end > 0 && content[end - 1] == 0) end--;
+        return end;
+    }
+
+}
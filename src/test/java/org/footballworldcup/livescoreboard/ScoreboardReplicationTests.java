@@ -0,0 +1,108 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+public class ScoreboardReplicationTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    ScoreboardReplicationLeader leader;
+
+    @Before
+    public void initialize() throws IOException {
+        leader = ScoreboardReplicationLeader.listen(
+                new LiveScoreboard(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @After
+    public void close() throws IOException {
+        leader.close();
+    }
+
+    @Test
+    public void followers_whenJoinedBeforeAndAfterWrites_shouldHaveSummaryOfLeader() throws Exception {
+        try (ScoreboardReplicationFollower early = ScoreboardReplicationFollower.connect(leader.getAddress())) {
+            leader.start("Mexico", "Canada");
+            leader.start("Spain", "Brazil");
+            leader.update("Mexico", "Canada", 0, 5);
+            leader.update("Spain", "Brazil", 3, 2);
+
+            try (ScoreboardReplicationFollower late = ScoreboardReplicationFollower.connect(leader.getAddress())) {
+                Assert.assertEquals(4, late.getPosition());
+                Assert.assertEquals(leader.getSummary(), late.getSummary());
+
+                leader.applyBatch(List.of(
+                        new ScoreCommand.Start("Germany", "France"),
+                        new ScoreCommand.Update("Germany", "France", 2, 2),
+                        new ScoreCommand.Finish("Spain", "Brazil")));
+                leader.tryUpdate("Mexico", "Canada", 1, 5);
+
+                Assert.assertTrue(early.awaitPosition(leader.getPosition(), TIMEOUT));
+                Assert.assertTrue(late.awaitPosition(leader.getPosition(), TIMEOUT));
+                Assert.assertEquals(leader.getSummary(), early.getSummary());
+                Assert.assertEquals(leader.getSummary(), late.getSummary());
+                Assert.assertEquals(leader.getSummary(0, 1), late.getSummary(0, 1));
+            }
+        }
+    }
+
+    @Test
+    public void follower_whenLeaderRejectsCommands_shouldOnlyReceiveAppliedOnes() throws Exception {
+        try (ScoreboardReplicationFollower follower = ScoreboardReplicationFollower.connect(leader.getAddress())) {
+            leader.start("Mexico", "Canada");
+            Assert.assertEquals(ScoreOutcome.CLASHING, leader.tryStart("Canada", "Brazil"));
+            List<CommandResult> results = leader.applyBatch(List.of(
+                    new ScoreCommand.Update("Mexico", "Canada", 1, 0),
+                    new ScoreCommand.Finish("Spain", "Brazil")));
+            leader.finish("Mexico", "Canada");
+
+            Assert.assertFalse(results.get(1).isApplied());
+            Assert.assertEquals(3, leader.getPosition());
+            Assert.assertTrue(follower.awaitPosition(3, TIMEOUT));
+            Assert.assertTrue(follower.getSummary().isEmpty());
+            Assert.assertTrue(follower.isConnected());
+        }
+    }
+
+    @Test
+    public void follower_whenLeaderClosed_shouldStopFollowingAndKeepLastSummary() throws Exception {
+        try (ScoreboardReplicationFollower follower = ScoreboardReplicationFollower.connect(leader.getAddress())) {
+            leader.start("Mexico", "Canada");
+            Assert.assertTrue(follower.awaitPosition(1, TIMEOUT));
+
+            leader.close();
+
+            Assert.assertFalse(follower.awaitPosition(2, TIMEOUT));
+            Assert.assertFalse(follower.isConnected());
+            Assert.assertNotNull(follower.getFailure());
+            Assert.assertEquals(1, follower.getSummary().size());
+        }
+    }
+
+    @Test
+    public void followers_whenManyWritesStreamed_shouldKeepUp() throws Exception {
+        try (ScoreboardReplicationFollower follower = ScoreboardReplicationFollower.connect(leader.getAddress())) {
+            for (int i = 0; i < 100; i++) {
+                leader.start("Home" + i, "Away" + i);
+                for (int goal = 1; goal <= 10; goal++) {
+                    leader.update("Home" + i, "Away" + i, goal, i % 3);
+                }
+                if (i % 2 == 0) leader.finish("Home" + i, "Away" + i);
+            }
+
+            Assert.assertTrue(follower.awaitPosition(leader.getPosition(), TIMEOUT));
+            Assert.assertEquals(leader.getSummary(), follower.getSummary());
+            Assert.assertEquals(1, leader.getFollowerCount());
+        }
+    }
+
+}
@@ -1,8 +1,10 @@
 package org.footballworldcup.livescoreboard;
 
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -73,6 +75,222 @@ public class ScoreboardTests {
         assertMatchAsExpected(matches.get(4), germany, france, germanyScore, franceScore);
     }
 
+    @Test
+    public void getSummary_whenBoardNotChanged_shouldReturnSameSummary() {
+        Scoreboard scoreboard = new LiveScoreboard();
+        startAndUpdate(scoreboard, "Mexico", "Canada", 0, 5);
+
+        List<SummarizedMatch> first = scoreboard.getSummary();
+        List<SummarizedMatch> second = scoreboard.getSummary();
+
+        Assert.assertSame(first, second);
+    }
+
+    @Test
+    public void getSummary_whenBoardChanged_shouldReturnNewSummary() {
+        Scoreboard scoreboard = new LiveScoreboard();
+        startAndUpdate(scoreboard, "Mexico", "Canada", 0, 5);
+        SummarySnapshot before = scoreboard.getSnapshot();
+
+        scoreboard.update("Mexico", "Canada", 1, 5);
+        SummarySnapshot after = scoreboard.getSnapshot();
+
+        Assert.assertNotSame(before.matches(), after.matches());
+        Assert.assertTrue(after.version() > before.version());
+        assertMatchAsExpected(before.matches().getFirst(), "Mexico", "Canada", 0, 5);
+        assertMatchAsExpected(after.matches().getFirst(), "Mexico", "Canada", 1, 5);
+    }
+
+    @Test
+    public void getVersion_whenMatchStartedUpdatedAndFinished_shouldGrowWithEachChange() {
+        Scoreboard scoreboard = new LiveScoreboard();
+        long initial = scoreboard.getVersion();
+
+        scoreboard.start("Mexico", "Canada");
+        long afterStart = scoreboard.getVersion();
+        scoreboard.update("Mexico", "Canada", 0, 1);
+        long afterUpdate = scoreboard.getVersion();
+        scoreboard.finish("Mexico", "Canada");
+        long afterFinish = scoreboard.getVersion();
+
+        Assert.assertTrue(initial < afterStart);
+        Assert.assertTrue(afterStart < afterUpdate);
+        Assert.assertTrue(afterUpdate < afterFinish);
+    }
+
+    @Test
+    public void hasChangedSince_whenOperationsRejected_shouldBeFalse() {
+        Scoreboard scoreboard = new LiveScoreboard();
+        startAndUpdate(scoreboard, "Mexico", "Canada", 0, 5);
+        long version = scoreboard.getVersion();
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> scoreboard.start("Mexico", "Spain"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> scoreboard.update("Mexico", "Canada", 0, 4));
+        Assert.assertThrows(IllegalArgumentException.class, () -> scoreboard.finish("Spain", "Brazil"));
+
+        Assert.assertFalse(scoreboard.hasChangedSince(version));
+        scoreboard.finish("Mexico", "Canada");
+        Assert.assertTrue(scoreboard.hasChangedSince(version));
+    }
+
+    @Test
+    public void getSummary_whenLimitGiven_shouldReturnTopMatches() {
+        Scoreboard scoreboard = new LiveScoreboard();
+        startAndUpdate(scoreboard, "Mexico", "Canada", 0, 5);
+        startAndUpdate(scoreboard, "Spain", "Brazil", 10, 2);
+        startAndUpdate(scoreboard, "Germany", "France", 2, 2);
+
+        List<SummarizedMatch> matches = scoreboard.getSummary(2);
+
+        Assert.assertEquals(2, matches.size());
+        assertMatchAsExpected(matches.get(0), "Spain", "Brazil", 10, 2);
+        assertMatchAsExpected(matches.get(1), "Mexico", "Canada", 0, 5);
+    }
+
+    @Test
+    public void getSummary_whenPageGiven_shouldMatchPageOfFullSummary() {
+        for (Scoreboard scoreboard : List.of(new LiveScoreboard(), new ConcurrentLiveScoreboard())) {
+            for (int i = 0; i < 6; i++) {
+                startAndUpdate(scoreboard, "Home" + i, "Away" + i, i % 3, 0);
+            }
+
+            // the first page of each read walks the running matches, later ones come from the cached summary
+            for (int read = 0; read < 2; read++) {
+                for (int offset = 0; offset <= 7; offset++) {
+                    for (int limit = 0; limit <= 7; limit++) {
+                        List<SummarizedMatch> summary = scoreboard.getSummary(offset, limit);
+                        List<SummarizedMatch> fullSummary = scoreboard.getSummary();
+                        int from = Math.min(offset, fullSummary.size());
+                        int to = Math.min(offset + limit, fullSummary.size());
+                        Assert.assertEquals(fullSummary.subList(from, to), summary);
+                    }
+                }
+                scoreboard.update("Home0", "Away0", 3, 0);
+            }
+        }
+    }
+
+    @Test
+    public void getSummary_whenOffsetOrLimitNegative_shouldThrowException() {
+        Scoreboard scoreboard = new LiveScoreboard();
+
+        Exception offsetException = Assert.assertThrows(IllegalArgumentException.class, () -> {
+            scoreboard.getSummary(-1, 5);
+        });
+        Exception limitException = Assert.assertThrows(IllegalArgumentException.class, () -> {
+            scoreboard.getSummary(-1);
+        });
+
+        Assert.assertEquals("Offset can't be negative", offsetException.getMessage());
+        Assert.assertEquals("Limit can't be negative", limitException.getMessage());
+    }
+
+    @Test
+    public void applyBatch_whenCommandsGiven_shouldApplyThemInOrderAndReportEachResult() {
+        for (Scoreboard scoreboard : List.of(new LiveScoreboard(), new ConcurrentLiveScoreboard())) {
+            // arrange
+            startAndUpdate(scoreboard, "Mexico", "Canada", 0, 5);
+            List<ScoreCommand> commands = List.of(
+                    new ScoreCommand.Start("Spain", "Brazil"),
+                    new ScoreCommand.Update("Spain", "Brazil", 1, 0),
+                    new ScoreCommand.Start("Spain", "France"),
+                    new ScoreCommand.Update("Mexico", "Canada", 0, 4),
+                    new ScoreCommand.Update("Spain", "Brazil", 6, 0),
+                    new ScoreCommand.Finish("Germany", "France"),
+                    new ScoreCommand.Start("Germany", "France"),
+                    new ScoreCommand.Update("Germany", "France", 1, 1),
+                    new ScoreCommand.Finish("Germany", "France"));
+
+            // act
+            List<CommandResult> results = scoreboard.applyBatch(commands);
+
+            // assert
+            Assert.assertEquals(commands.size(), results.size());
+            for (int i = 0; i < commands.size(); i++) {
+                Assert.assertSame(commands.get(i), results.get(i).command());
+            }
+            Assert.assertTrue(results.get(0).isApplied());
+            Assert.assertTrue(results.get(1).isApplied());
+            Assert.assertEquals("Team already playing", results.get(2).error().getMessage());
+            Assert.assertEquals("Score can't be lowered", results.get(3).error().getMessage());
+            Assert.assertTrue(results.get(4).isApplied());
+            Assert.assertEquals("Match not found", results.get(5).error().getMessage());
+            Assert.assertTrue(results.get(6).isApplied());
+            Assert.assertTrue(results.get(7).isApplied());
+            Assert.assertTrue(results.get(8).isApplied());
+
+            List<SummarizedMatch> matches = scoreboard.getSummary();
+            Assert.assertEquals(2, matches.size());
+            assertMatchAsExpected(matches.get(0), "Spain", "Brazil", 6, 0);
+            assertMatchAsExpected(matches.get(1), "Mexico", "Canada", 0, 5);
+        }
+    }
+
+    @Test
+    public void applyBatch_whenAnyCommandApplied_shouldChangeVersionOnce() {
+        for (Scoreboard scoreboard : List.of(new LiveScoreboard(), new ConcurrentLiveScoreboard())) {
+            long initial = scoreboard.getVersion();
+            scoreboard.applyBatch(List.of(
+                    new ScoreCommand.Start("Mexico", "Canada"),
+                    new ScoreCommand.Update("Mexico", "Canada", 1, 0),
+                    new ScoreCommand.Update("Mexico", "Canada", 2, 0)));
+            long afterBatch = scoreboard.getVersion();
+            scoreboard.applyBatch(List.of(new ScoreCommand.Finish("Spain", "Brazil")));
+
+            Assert.assertEquals(initial + 1, afterBatch);
+            Assert.assertFalse(scoreboard.hasChangedSince(afterBatch));
+        }
+    }
+
+    @Test
+    public void applyBatch_whenCommandFailsUnexpectedly_shouldStillChangeVersionForAppliedCommands() {
+        List<Scoreboard> scoreboards = List.of(new LiveScoreboard(), new ConcurrentLiveScoreboard(),
+                new CompactLiveScoreboard(), new ShardedScoreboard());
+        for (Scoreboard scoreboard : scoreboards) {
+            long initial = scoreboard.getVersion();
+            List<ScoreCommand> commands = Arrays.asList(new ScoreCommand.Start("Mexico", "Canada"), null);
+
+            Assert.assertThrows(NullPointerException.class, () -> scoreboard.applyBatch(commands));
+
+            Assert.assertEquals(initial + 1, scoreboard.getVersion());
+            Assert.assertEquals(List.of(new SummarizedMatch("Mexico", "Canada", 0, 0)), scoreboard.getSummary());
+        }
+    }
+
+    @Test
+    public void tryOperations_whenInputRejected_shouldReportOutcomeAndChangeNothing() {
+        List<Scoreboard> scoreboards = List.of(new LiveScoreboard(), new ConcurrentLiveScoreboard(),
+                new CompactLiveScoreboard(), new ShardedScoreboard(), new InstrumentedScoreboard(new LiveScoreboard()));
+        for (Scoreboard scoreboard : scoreboards) {
+            Assert.assertEquals(ScoreOutcome.OK, scoreboard.tryStart("Mexico", "Canada"));
+            Assert.assertEquals(ScoreOutcome.OK, scoreboard.tryUpdate("Mexico", "Canada", 1, 0));
+            long version = scoreboard.getVersion();
+
+            Assert.assertEquals(ScoreOutcome.BLANK_NAME, scoreboard.tryStart(" ", "Brazil"));
+            Assert.assertEquals(ScoreOutcome.BLANK_NAME, scoreboard.tryStart("Spain", null));
+            Assert.assertEquals(ScoreOutcome.CLASHING, scoreboard.tryStart("Spain", "Spain"));
+            Assert.assertEquals(ScoreOutcome.CLASHING, scoreboard.tryStart("Canada", "Brazil"));
+            Assert.assertEquals(ScoreOutcome.LOWER_SCORE, scoreboard.tryUpdate("Mexico", "Canada", 0, 1));
+            Assert.assertEquals(ScoreOutcome.NOT_FOUND, scoreboard.tryUpdate("Canada", "Mexico", 2, 0));
+            Assert.assertEquals(ScoreOutcome.NOT_FOUND, scoreboard.tryFinish("Spain", "Brazil"));
+            Assert.assertEquals(version, scoreboard.getVersion());
+
+            Assert.assertEquals(ScoreOutcome.OK, scoreboard.tryFinish("Mexico", "Canada"));
+            Assert.assertTrue(scoreboard.getSummary().isEmpty());
+        }
+    }
+
+    @Test
+    public void exceptions_whenRejectingInput_shouldNotCaptureStackTrace() {
+        Scoreboard scoreboard = new LiveScoreboard();
+
+        Exception exception = Assert.assertThrows(MatchNotFoundException.class, () -> {
+            scoreboard.finish("Spain", "Brazil");
+        });
+
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
     private static void assertMatchAsExpected(SummarizedMatch match, String homeTeam, String awayTeam,
                                               int homeTeamScore, int awayTeamScore) {
         Assert.assertEquals(homeTeam, match.homeTeam());
@@ -0,0 +1,203 @@
+package org.footballworldcup.livescoreboard;
+
+import org.footballworldcup.livescoreboard.exceptions.ClashingTeamsException;
+import org.footballworldcup.livescoreboard.exceptions.MatchNotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertThrows;
+
+public class ShardedScoreboardTests {
+
+    private static final int WRITERS = 8;
+
+    @Test
+    public void start_whenAwayTeamPlayingAtHomeInAnotherShard_shouldThrowException() {
+        ShardedScoreboard scoreboard = new ShardedScoreboard(64);
+        // with many shards, each match of the away team is kept in the shard of another home team
+        for (int i = 0; i < 64; i++) {
+            scoreboard.start("Home" + i, "Away" + i);
+        }
+
+        for (int i = 0; i < 64; i++) {
+            String awayTeam = "Away" + i;
+            Exception exception = assertThrows(ClashingTeamsException.class, () -> {
+                scoreboard.start(awayTeam, "Other");
+            });
+            Assert.assertEquals("Team already playing", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void finish_whenHomeAndAwayTeamSwapped_shouldThrowException() {
+        ShardedScoreboard scoreboard = new ShardedScoreboard(4);
+        scoreboard.start("Home", "Away");
+
+        Exception exception = assertThrows(MatchNotFoundException.class, () -> {
+            scoreboard.finish("Away", "Home");
+        });
+
+        Assert.assertEquals("Match not found", exception.getMessage());
+    }
+
+    @Test
+    public void getSummary_whenRandomCommandsApplied_shouldMatchLiveScoreboard() {
+        Scoreboard sharded = new ShardedScoreboard(4);
+        Scoreboard live = new LiveScoreboard();
+        Random random = new Random(7);
+        int teams = 100;
+        int[] homeTeamScores = new int[teams];
+
+        for (int i = 0; i < 10_000; i++) {
+            // teams pair up at random, so matches keep clashing across shards
+            String homeTeam = "Team" + random.nextInt(teams);
+            String awayTeam = "Team" + random.nextInt(teams);
+            ScoreCommand command = switch (random.nextInt(3)) {
+                case 0 -> new ScoreCommand.Start(homeTeam, awayTeam);
+                case 1 -> new ScoreCommand.Finish(homeTeam, awayTeam);
+                default -> {
+                    int team = random.nextInt(teams);
+                    homeTeamScores[team] += random.nextInt(2);
+                    yield new ScoreCommand.Update("Team" + team, awayTeam, homeTeamScores[team], 0);
+                }
+            };
+            if (random.nextInt(10) == 0) {
+                Assert.assertEquals(outcomes(live.applyBatch(List.of(command, command))),
+                        outcomes(sharded.applyBatch(List.of(command, command))));
+            } else {
+                Assert.assertEquals(outcomes(live.applyBatch(List.of(command))),
+                        outcomes(sharded.applyBatch(List.of(command))));
+            }
+            if (i % 100 == 0) Assert.assertEquals(live.getSummary(5, 10), sharded.getSummary(5, 10));
+        }
+
+        Assert.assertEquals(live.getSummary(), sharded.getSummary());
+        Assert.assertEquals(live.getVersion(), sharded.getVersion());
+    }
+
+    @Test
+    public void start_whenManyThreadsStartMatchesOfSameAwayTeam_shouldStartExactlyOne() throws Exception {
+        ShardedScoreboard scoreboard = new ShardedScoreboard(16);
+        AtomicInteger started = new AtomicInteger();
+
+        runConcurrently(writer -> {
+            for (int i = 0; i < 100; i++) {
+                if (scoreboard.tryStart("Home" + writer + "-" + i, "Away") == ScoreOutcome.OK)
+                    started.incrementAndGet();
+            }
+        });
+
+        Assert.assertEquals(1, started.get());
+        Assert.assertEquals(1, scoreboard.getSummary().size());
+    }
+
+    @Test
+    public void start_whenManyThreadsStartMatchesInDifferentShards_shouldNumberThemUniquelyInStartOrder()
+            throws Exception {
+        ShardedScoreboard scoreboard = new ShardedScoreboard(16);
+
+        runConcurrently(writer -> {
+            for (int i = 0; i < 500; i++) {
+                scoreboard.start("Home" + writer + "-" + i, "Away" + writer + "-" + i);
+            }
+        });
+
+        List<Match> matches = scoreboard.getMatches();
+        Set<Integer> orderNos = new HashSet<>();
+        int[] lastOrderNos = new int[WRITERS];
+        Arrays.fill(lastOrderNos, Integer.MAX_VALUE);
+        for (Match match : matches) {
+            orderNos.add(match.getOrderNo());
+            // matches of equal score come latest first, so each writer's matches come in reverse start order
+            int writer = Integer.parseInt(match.getHomeTeam().substring(4, match.getHomeTeam().indexOf('-')));
+            Assert.assertTrue(match.getOrderNo() < lastOrderNos[writer]);
+            lastOrderNos[writer] = match.getOrderNo();
+        }
+        Assert.assertEquals(WRITERS * 500, matches.size());
+        Assert.assertEquals(WRITERS * 500, orderNos.size());
+    }
+
+    @Test
+    public void getSummary_whenReadDuringWrites_shouldAlwaysBeOrdered() throws Exception {
+        ShardedScoreboard scoreboard = new ShardedScoreboard(8);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger violations = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                List<SummarizedMatch> summary = scoreboard.getSummary();
+                for (int i = 1; i < summary.size(); i++) {
+                    SummarizedMatch previous = summary.get(i - 1);
+                    SummarizedMatch match = summary.get(i);
+                    int previousTotalScore = previous.homeTeamScore() + previous.awayTeamScore();
+                    if (previousTotalScore < match.homeTeamScore() + match.awayTeamScore())
+                        violations.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        runConcurrently(writer -> {
+            for (int round = 0; round < 100; round++) {
+                String homeTeam = "Home" + writer;
+                String awayTeam = "Away" + writer;
+                scoreboard.start(homeTeam, awayTeam);
+                for (int goal = 1; goal <= 5; goal++) {
+                    scoreboard.update(homeTeam, awayTeam, goal, round % 3);
+                }
+                scoreboard.finish(homeTeam, awayTeam);
+            }
+        });
+        writing.set(false);
+        reader.join();
+
+        Assert.assertEquals(0, violations.get());
+        Assert.assertTrue(scoreboard.getSummary().isEmpty());
+        Assert.assertEquals(WRITERS * 100 * 7, scoreboard.getVersion());
+    }
+
+    private static List<String> outcomes(List<CommandResult> results) {
+        List<String> outcomes = new ArrayList<>();
+        for (CommandResult result : results) {
+            outcomes.add(result.isApplied() ? "applied" : result.error().getMessage());
+        }
+        return outcomes;
+    }
+
+    private static void runConcurrently(WriterTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < WRITERS; thread++) {
+            int writer = thread;
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                task.run(writer);
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface WriterTask {
+        void run(int writer);
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.footballworldcup.livescoreboard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SummaryRendererTests {
+
+    private static final List<SummarizedMatch> SUMMARY = List.of(
+            new SummarizedMatch("Uruguay", "Italy", 6, 6),
+            new SummarizedMatch("Spain", "Brazil", 10, 2),
+            new SummarizedMatch("Mexico", "Canada", 0, 5),
+            new SummarizedMatch("Côte d'Ivoire", "Türkiye", 123, 0));
+
+    @Test
+    public void render_givenSummary_shouldWriteToStringOfEachMatchOnItsOwnLine() {
+        SummaryRenderer renderer = new SummaryRenderer();
+
+        String rendered = renderer.render(SUMMARY, new StringBuilder()).toString();
+
+        Assert.assertEquals(expectedText(SUMMARY), rendered);
+    }
+
+    @Test
+    public void encode_givenSummary_shouldReturnUtf8BytesOfRenderedText() {
+        SummaryRenderer renderer = new SummaryRenderer();
+
+        byte[] encoded = toBytes(renderer, SUMMARY);
+
+        Assert.assertArrayEquals(expectedText(SUMMARY).getBytes(StandardCharsets.UTF_8), encoded);
+    }
+
+    @Test
+    public void encode_whenSummaryOutgrowsBuffer_shouldGrowIt() {
+        SummaryRenderer renderer = new SummaryRenderer();
+        List<SummarizedMatch> summary = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            summary.add(new SummarizedMatch("Home team " + i, "Away team " + i, i * 1000, i));
+        }
+
+        toBytes(renderer, SUMMARY);
+        byte[] encoded = toBytes(renderer, summary);
+
+        Assert.assertArrayEquals(expectedText(summary).getBytes(StandardCharsets.UTF_8), encoded);
+    }
+
+    @Test
+    public void write_givenChannel_shouldWriteWholeRenderedSummary() throws Exception {
+        SummaryRenderer renderer = new SummaryRenderer();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.write(SUMMARY, Channels.newChannel(out));
+
+        Assert.assertEquals(expectedText(SUMMARY), out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] toBytes(SummaryRenderer renderer, List<SummarizedMatch> summary) {
+        ByteBuffer buffer = renderer.encode(summary);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String expectedText(List<SummarizedMatch> summary) {
+        StringBuilder text = new StringBuilder();
+        for (SummarizedMatch match : summary) {
+            text.append(match).append('\n');
+        }
+        return text.toString();
+    }
+
+}